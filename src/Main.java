@@ -1,4 +1,11 @@
+import controllers.TimePeriodController;
+import controllers.utilities.DataLoader;
+import controllers.utilities.ImageCache;
+import controllers.utilities.SetupScene;
+import controllers.utilities.Warmup;
+import core.IdentityMap;
 import core.Session;
+import core.TimeJournal;
 import database.Database;
 import javafx.application.Application;
 import javafx.stage.Stage;
@@ -36,14 +43,24 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage primaryStage) throws IOException {
+        Warmup.mark("application started");
+
         // Opens the database connection
         Database.openConnection();
 
+        // Writes the time changes left from the previous run
+        TimeJournal.recover();
+        Warmup.mark("database opened");
+
         // Loads the main application window
-        new MainStage(primaryStage);
+        MainStage mainStage = new MainStage(primaryStage);
+        Warmup.mark("main stage shown");
 
         // Saves the host services to open urls later
         Session.setHostServices(getHostServices());
+
+        // Warms up all other views once the first frame is shown
+        Warmup.start(mainStage.getViewName());
     }
 
     /**
@@ -51,6 +68,14 @@ public class Main extends Application {
      */
     @Override
     public void stop(){
+        DataLoader.shutdown();
+        TimeJournal.shutdown();
+        System.out.println(DataLoader.getStatistics());
+        System.out.println(SetupScene.getStatistics());
+        System.out.println(TimePeriodController.getStatistics());
+        System.out.println(ImageCache.getStatistics());
+        System.out.println(TimeJournal.getStatistics());
+        System.out.println(IdentityMap.getStatistics());
         Database.closeConnection();
     }
 }
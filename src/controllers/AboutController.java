@@ -2,6 +2,7 @@ package controllers;
 
 import controllers.utilities.ControlScene;
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.Refreshable;
 import core.Session;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -22,7 +23,7 @@ import java.util.ResourceBundle;
  *
  * Class which handles About Tab functionality and UI.
  */
-public class AboutController extends DefaultNavigation implements Initializable {
+public class AboutController extends DefaultNavigation implements Initializable, Refreshable {
     @FXML
     private Label topicNameLabel;
 
@@ -60,6 +61,11 @@ public class AboutController extends DefaultNavigation implements Initializable
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        refresh();
+    }
+
+    @Override
+    public void refresh() {
         // Default selection is user guide button
         userGuideButtonClicked();
     }
@@ -1,10 +1,14 @@
 package controllers;
 
 import controllers.utilities.ControlScene;
+import controllers.utilities.DataLoader;
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.Refreshable;
 import core.Assignment;
+import core.GradeTree;
 import core.Module;
 import core.Session;
+import core.User;
 import core.Year;
 import core.enums.PopupType;
 import core.enums.MarksSelection;
@@ -22,6 +26,8 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Organised.
@@ -33,7 +39,7 @@ import java.util.ResourceBundle;
  *
  * Class which handles Marks Tab functionality and UI.
  */
-public class MarksController extends DefaultNavigation implements Initializable {
+public class MarksController extends DefaultNavigation implements Initializable, Refreshable {
     // Title Labels
     @FXML
     private Label bigTitleLabel;
@@ -185,11 +191,23 @@ public class MarksController extends DefaultNavigation implements Initializable
     private int pane5Pointer = -1;
     private int pane6Pointer = -1;
     private int pane7Pointer = -1;
+    // Names of the background loads of the degree, year & module views
+    private final static String DEGREE_LOAD = "Marks degree";
+    private final static String YEAR_LOAD = "Marks year";
+    private final static String MODULE_LOAD = "Marks module";
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        refresh();
+    }
+
+    @Override
+    public void refresh() {
         // Cleans the session variables of marks, if there were any
         cleanSession();
+        cleanCurrentSelection();
+        // Grades are loaded again once per visit of the scene
+        GradeTree.invalidate();
 
         // Loads degree information
         loadDegree();
@@ -274,23 +292,44 @@ public class MarksController extends DefaultNavigation implements Initializable
 
                 // Scene type is Module
                 case MODULE:
-                    // Assignment addition/editing could have changed some module data
-                    double moduleGrade = Session.getMarksModuleSelected().getOverallGrade();
-                    if(moduleGrade != -1) pane1Value.setText(moduleGrade + "%");
-                    else pane1Value.setText("-");
-                    pane2Value.setText(Session.getMarksModuleSelected().getPercentComplete() + "%");
                     refreshPanelsAssignments();
                     break;
             }
         }
     }
 
+    /**
+     * Loads the data of the displayed view in the background. Loads of the other
+     * views are cancelled, so they can't replace the displayed view.
+     *
+     * @param name name of the load of the displayed view
+     * @param query loads the data, runs in the background
+     * @param apply shows the loaded data
+     * @param <T> type of the data
+     */
+    private <T> void loadView(String name, Callable<T> query, Consumer<T> apply){
+        for(String view : new String[]{DEGREE_LOAD, YEAR_LOAD, MODULE_LOAD}){
+            if(!view.equals(name)) DataLoader.cancel(view);
+        }
+        DataLoader.load(name, query, apply);
+    }
+
     /**
      * Method which refreshes panels with currently displayed Years.
      * Used by refreshPanels method.
      */
     private void refreshPanelsYears(){
-        userYears = Session.getSession().getAllYears();
+        int userId = Session.getSession().getId();
+        loadView(DEGREE_LOAD, () -> GradeTree.getYears(userId), this::showPanelsYears);
+    }
+
+    /**
+     * Shows the loaded Years in the panels.
+     *
+     * @param years loaded Years of the user
+     */
+    private void showPanelsYears(List<Year> years){
+        userYears = years;
         // Updates the panels
         switch (userYears.size()){
             case 0:
@@ -322,7 +361,18 @@ public class MarksController extends DefaultNavigation implements Initializable
      * Used by refreshPanels method.
      */
     private void refreshPanelsModules(){
-        userModules = Session.getMarksYearSelected().getAllModules();
+        int userId = Session.getSession().getId();
+        int yearNumber = Session.getMarksYearSelected().getYearNumber();
+        loadView(YEAR_LOAD, () -> GradeTree.getModules(userId, yearNumber), this::showPanelsModules);
+    }
+
+    /**
+     * Shows the loaded Modules in the panels.
+     *
+     * @param modules loaded Modules of the Year
+     */
+    private void showPanelsModules(List<Module> modules){
+        userModules = modules;
         // Updates the panels
         switch (userModules.size()){
             case 0:
@@ -354,7 +404,23 @@ public class MarksController extends DefaultNavigation implements Initializable
      * Used by refreshPanels method.
      */
     private void refreshPanelsAssignments(){
-        userAssignments = Session.getMarksModuleSelected().getAllAssignments();
+        int userId = Session.getSession().getId();
+        Module module = Session.getMarksModuleSelected();
+        loadView(MODULE_LOAD, () -> new ModuleSummary(userId, module), this::showPanelsAssignments);
+    }
+
+    /**
+     * Shows the loaded Module data and its Assignments in the panels.
+     *
+     * @param summary loaded Module
+     */
+    private void showPanelsAssignments(ModuleSummary summary){
+        // Assignment addition/editing could have changed some module data
+        if(summary.grade != -1) pane1Value.setText(summary.grade + "%");
+        else pane1Value.setText("-");
+        pane2Value.setText(summary.percentComplete + "%");
+
+        userAssignments = summary.assignments;
         // Updates the panels
         switch (userAssignments.size()){
             case 0:
@@ -386,9 +452,6 @@ public class MarksController extends DefaultNavigation implements Initializable
      * Setups the scene with degree data (panels have year data)
      */
     private void loadDegree(){
-        // Loads the Years of the user
-        userYears = Session.getSession().getAllYears();
-
         // Sets the main titles of the page
         bigTitleLabel.setText("Your Degree.");
         optionalTitleLabel.setText("");
@@ -398,23 +461,49 @@ public class MarksController extends DefaultNavigation implements Initializable
         button2Label.setText("Add Year");
         goBackButton.setVisible(false);
 
-        // Sets degree overall grade
+        // Shows placeholders until the degree is loaded
         pane1Label.setText("Grade:");
-        double userGrade = Session.getSession().getDegreeGrade();
-        if (userGrade == -1) pane1Value.setText("-");
-        else pane1Value.setText(userGrade + "%");
-
-        // Sets how much of the degree is completed
+        pane1Value.setText(DataLoader.PLACEHOLDER);
         pane2Label.setText("Complete:");
-        pane2Value.setText(Session.getSession().getDegreePercentComplete() + "%");
-
-        // Set degree classification
+        pane2Value.setText(DataLoader.PLACEHOLDER);
         pane3Label.setText("Classification:");
-        pane3Value.setText(Session.getSession().getClassification());
+        pane3Value.setText(DataLoader.PLACEHOLDER);
 
         // Hides unused top display panes
         pane4.setVisible(false);
 
+        // Hides panes & navigation until the Years are loaded
+        hideUnusedPanes();
+        goLeftButton.setVisible(false);
+        goRightButton.setVisible(false);
+
+        // Sets the current Marks Tab Selection
+        Session.setMarksSelectionType(MarksSelection.DEGREE);
+
+        // Loads the degree of the user in the background
+        User user = Session.getSession();
+        loadView(DEGREE_LOAD, () -> new DegreeSummary(user), this::showDegree);
+    }
+
+    /**
+     * Shows the loaded degree of the user: its grade, completion,
+     * classification and the first Years.
+     *
+     * @param degree loaded degree of the user
+     */
+    private void showDegree(DegreeSummary degree){
+        userYears = degree.years;
+
+        // Sets degree overall grade
+        if (degree.grade == -1) pane1Value.setText("-");
+        else pane1Value.setText(degree.grade + "%");
+
+        // Sets how much of the degree is completed
+        pane2Value.setText(degree.percentComplete + "%");
+
+        // Set degree classification
+        pane3Value.setText(degree.classification);
+
         // Load years in pane5, pane6 & pane7
         switch(userYears.size()){
             case 0:
@@ -439,18 +528,13 @@ public class MarksController extends DefaultNavigation implements Initializable
 
         // Configures navigation arrows
         determineNavigationVisibility(new ArrayList<>(userYears));
-
-        // Sets the current Marks Tab Selection
-        Session.setMarksSelectionType(MarksSelection.DEGREE);
     }
 
     /**
      * Setups the scene with Year data (panels have module data)
      */
     private void loadYear(){
-        // Loads modules of the Year
         Year thisYear = Session.getMarksYearSelected();
-        userModules = thisYear.getAllModules();
 
         // Sets the main titles of the page
         bigTitleLabel.setText("Year "+thisYear.getYearNumber()+".");
@@ -462,29 +546,53 @@ public class MarksController extends DefaultNavigation implements Initializable
         button2Label.setText("Add Module");
         goBackButton.setVisible(true);
 
-        // Sets Year overall grade
+        // Shows placeholders until the Year is loaded
         pane1Label.setText("Overall   Grade:");
-        double yearGrade = thisYear.getOverallGrade();
-        if(yearGrade == -1) pane1Value.setText("-");
-        else pane1Value.setText(yearGrade + "%");
+        pane1Value.setText(DataLoader.PLACEHOLDER);
+        pane2Label.setText("Complete:");
+        pane2Value.setText(DataLoader.PLACEHOLDER);
+        pane3.setVisible(true);
+        pane3Label.setText("Autumn Grade:");
+        pane3Value.setText(DataLoader.PLACEHOLDER);
+        pane4.setVisible(true);
+        pane4Label.setText("Spring   Grade:");
+        pane4Value.setText(DataLoader.PLACEHOLDER);
+
+        // Hides panes & navigation until the Modules are loaded
+        hideUnusedPanes();
+        goLeftButton.setVisible(false);
+        goRightButton.setVisible(false);
+
+        // Sets the current Marks Tab Selection
+        Session.setMarksSelectionType(MarksSelection.YEAR);
+
+        // Loads the Year and its Modules in the background
+        int userId = Session.getSession().getId();
+        loadView(YEAR_LOAD, () -> new YearSummary(userId, thisYear), this::showYear);
+    }
+
+    /**
+     * Shows the loaded Year: its grades and the first Modules.
+     *
+     * @param year loaded Year
+     */
+    private void showYear(YearSummary year){
+        userModules = year.modules;
+
+        // Sets Year overall grade
+        if(year.grade == -1) pane1Value.setText("-");
+        else pane1Value.setText(year.grade + "%");
 
         // Sets % Complete
-        pane2Label.setText("Complete:");
-        pane2Value.setText(thisYear.getPercentComplete() + "%");
+        pane2Value.setText(year.percentComplete + "%");
 
         // Sets Autumn Grade
-        pane3.setVisible(true);
-        pane3Label.setText("Autumn Grade:");
-        double springGrade = thisYear.getAutumnGrade();
-        if(springGrade == -1) pane3Value.setText("-");
-        else pane3Value.setText(springGrade + "%");
+        if(year.autumnGrade == -1) pane3Value.setText("-");
+        else pane3Value.setText(year.autumnGrade + "%");
 
         // Sets Spring Grade
-        pane4.setVisible(true);
-        pane4Label.setText("Spring   Grade:");
-        double autumnGrade = thisYear.getSpringGrade();
-        if(autumnGrade == -1) pane4Value.setText("-");
-        else pane4Value.setText(autumnGrade + "%");
+        if(year.springGrade == -1) pane4Value.setText("-");
+        else pane4Value.setText(year.springGrade + "%");
 
         // Load modules in pane5, pane6 & pane7
         switch(userModules.size()){
@@ -509,18 +617,13 @@ public class MarksController extends DefaultNavigation implements Initializable
 
         // Configures navigation arrows
         determineNavigationVisibility(new ArrayList<>(userModules));
-
-        // Sets the current Marks Tab Selection
-        Session.setMarksSelectionType(MarksSelection.YEAR);
     }
 
     /**
      * Setups the scene with Module data (panels have assignment data)
      */
     private void loadModule(){
-        // Loads assignments of the Module
         Module thisModule = Session.getMarksModuleSelected();
-        userAssignments = thisModule.getAllAssignments();
 
         // Sets the main titles of the page
         bigTitleLabel.setText(thisModule.getCode() + ".");
@@ -532,15 +635,11 @@ public class MarksController extends DefaultNavigation implements Initializable
         button2Label.setText("Add Assignment");
         goBackButton.setVisible(true);
 
-        // Sets Module overall grade
+        // Shows placeholders until the Module is loaded
         pane1Label.setText("Grade:");
-        double moduleGrade = thisModule.getOverallGrade();
-        if(moduleGrade != -1) pane1Value.setText(moduleGrade + "%");
-        else pane1Value.setText("-");
-
-        // Sets Module % complete
+        pane1Value.setText(DataLoader.PLACEHOLDER);
         pane2Label.setText("Complete:");
-        pane2Value.setText(thisModule.getPercentComplete() + "%");
+        pane2Value.setText(DataLoader.PLACEHOLDER);
 
         // Sets Module credits
         pane3Label.setText("Credits:");
@@ -550,6 +649,34 @@ public class MarksController extends DefaultNavigation implements Initializable
         pane4Label.setText("Semester:");
         pane4Value.setText(thisModule.getSemester().toString());
 
+        // Hides panes & navigation until the Assignments are loaded
+        hideUnusedPanes();
+        goLeftButton.setVisible(false);
+        goRightButton.setVisible(false);
+
+        // Sets the current Marks Tab Selection
+        Session.setMarksSelectionType(MarksSelection.MODULE);
+
+        // Loads the Module and its Assignments in the background
+        int userId = Session.getSession().getId();
+        loadView(MODULE_LOAD, () -> new ModuleSummary(userId, thisModule), this::showModule);
+    }
+
+    /**
+     * Shows the loaded Module: its grade, completion and the first Assignments.
+     *
+     * @param module loaded Module
+     */
+    private void showModule(ModuleSummary module){
+        userAssignments = module.assignments;
+
+        // Sets Module overall grade
+        if(module.grade != -1) pane1Value.setText(module.grade + "%");
+        else pane1Value.setText("-");
+
+        // Sets Module % complete
+        pane2Value.setText(module.percentComplete + "%");
+
         // Loads assignments in pane5, pane6 & pane7
         switch(userAssignments.size()){
             case 0:
@@ -573,9 +700,6 @@ public class MarksController extends DefaultNavigation implements Initializable
 
         // Configures navigation arrows
         determineNavigationVisibility(new ArrayList<>(userAssignments));
-
-        // Sets the current Marks Tab Selection
-        Session.setMarksSelectionType(MarksSelection.MODULE);
     }
 
     // Methods concerning the big 3 panes for data display
@@ -1228,4 +1352,72 @@ public class MarksController extends DefaultNavigation implements Initializable
     private void button1Hovered() {
         ControlScene.buttonHovered(button1, button1Image, button1Label, "edit_icon_selected.png");
     }
+
+    /**
+     * Degree of the user, loaded in the background.
+     */
+    private static class DegreeSummary {
+        private final List<Year> years;
+        private final double grade;
+        private final double percentComplete;
+        private final String classification;
+
+        /**
+         * Loads the degree of the given user.
+         *
+         * @param user user to load the degree of
+         */
+        private DegreeSummary(User user) {
+            years = GradeTree.getYears(user.getId());
+            grade = user.getDegreeGrade();
+            percentComplete = user.getDegreePercentComplete();
+            classification = user.getClassification();
+        }
+    }
+
+    /**
+     * Year of the user, loaded in the background.
+     */
+    private static class YearSummary {
+        private final List<Module> modules;
+        private final double grade;
+        private final double percentComplete;
+        private final double autumnGrade;
+        private final double springGrade;
+
+        /**
+         * Loads the given Year of the user.
+         *
+         * @param userId id of the user
+         * @param year Year to load
+         */
+        private YearSummary(int userId, Year year) {
+            modules = GradeTree.getModules(userId, year.getYearNumber());
+            grade = year.getOverallGrade();
+            percentComplete = year.getPercentComplete();
+            autumnGrade = year.getAutumnGrade();
+            springGrade = year.getSpringGrade();
+        }
+    }
+
+    /**
+     * Module of the user, loaded in the background.
+     */
+    private static class ModuleSummary {
+        private final List<Assignment> assignments;
+        private final double grade;
+        private final double percentComplete;
+
+        /**
+         * Loads the given Module of the user.
+         *
+         * @param userId id of the user
+         * @param module Module to load
+         */
+        private ModuleSummary(int userId, Module module) {
+            assignments = GradeTree.getAssignments(userId, module.getCode());
+            grade = module.getOverallGrade();
+            percentComplete = module.getPercentComplete();
+        }
+    }
 }
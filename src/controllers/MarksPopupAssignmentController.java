@@ -300,31 +300,13 @@ public class MarksPopupAssignmentController extends MarksDefaultPopup implements
     }
 
     /**
-     * Changes the styling of attemptedButton based on user choice.
+     * Changes the text of attemptedButton based on user choice.
      * Disables score & maxScore fields if needed.
      */
     @FXML
     private void attemptedButtonClicked(){
-        // Sets button properties depending on selection
-        String colour;
-        String text;
-        if(attemptedButton.isSelected()){
-            colour = "#60A572;";
-            text = "Yes";
-        }
-        else {
-            colour ="#C75450;";
-            text = "No";
-        }
-
-        // Sets the button style (colours the border)
-        String firstHalfStyles = "-fx-background-color: none; -fx-text-fill: white; " +
-                "-fx-border-style: solid; -fx-border-color: ";
-        String secondHalfStyles = " -fx-border-radius: 10; -fx-border-width: 3";
-        attemptedButton.setStyle(firstHalfStyles+colour+secondHalfStyles);
-
-        // Sets button text (Yes/No)
-        attemptedButton.setText(text);
+        // Sets button text (Yes/No), the border is coloured by its selected state
+        attemptedButton.setText(attemptedButton.isSelected() ? "Yes" : "No");
 
         // Disables the buttons, if needed
         scoreField.setDisable(!attemptedButton.isSelected());
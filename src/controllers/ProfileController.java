@@ -1,13 +1,16 @@
 package controllers;
 
+import controllers.utilities.DataLoader;
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.ImageCache;
+import controllers.utilities.Refreshable;
 import core.Session;
 import core.User;
+import core.UserStatistics;
 import core.enums.TimeOfDay;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 import java.net.URL;
@@ -24,7 +27,7 @@ import java.util.ResourceBundle;
  *
  * Class which handles Profile Tab functionality and UI.
  */
-public class ProfileController extends DefaultNavigation implements Initializable {
+public class ProfileController extends DefaultNavigation implements Initializable, Refreshable {
 
     // Elements based on time
     @FXML
@@ -58,6 +61,11 @@ public class ProfileController extends DefaultNavigation implements Initializabl
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        refresh();
+    }
+
+    @Override
+    public void refresh() {
         // Sets up the time of day based elements
         setupGreetings();
 
@@ -88,32 +96,45 @@ public class ProfileController extends DefaultNavigation implements Initializabl
 
         // Sets up banner image
         String imageName = timeOfDay.toString().toLowerCase()+"-banner.png";
-
-        Image newImage = new Image(ProfileController.class.getResourceAsStream("/"+imageName));
-        bannerImage.setImage(newImage);
+        bannerImage.setImage(ImageCache.get(imageName));
     }
 
     /**
      * Method which setups the statistics of the user.
      */
     private void setupStatistics(){
-        // Gets the logged user
+        // Shows placeholders until the statistics are calculated
+        Label[] statisticLabels = {numberOfAssignments, numberOfModules, timeSpentOrganised, busiestWeek,
+                numberOfEvents, busiestPeriod, numberOfTasks, tasksCompleted};
+        for(Label label : statisticLabels){
+            label.setText(DataLoader.PLACEHOLDER);
+        }
+
+        // Calculates the statistics of the logged user in the background
         User user = Session.getSession();
+        DataLoader.load("Profile statistics", () -> new UserStatistics(user), this::showStatistics);
+    }
 
+    /**
+     * Method which shows the calculated statistics of the user.
+     *
+     * @param statistics statistics of the user
+     */
+    private void showStatistics(UserStatistics statistics){
         // Marks section
-        numberOfAssignments.setText(Integer.toString(user.getAssignmentNumber()));
-        numberOfModules.setText(Integer.toString(user.getModuleNumber()));
+        numberOfAssignments.setText(Integer.toString(statistics.getAssignmentNumber()));
+        numberOfModules.setText(Integer.toString(statistics.getModuleNumber()));
 
         // Time section
-        timeSpentOrganised.setText(user.getTimeSpentOrganised());
-        busiestWeek.setText(user.getBusiestWeek());
+        timeSpentOrganised.setText(statistics.getTimeSpentOrganised());
+        busiestWeek.setText(statistics.getBusiestWeek());
 
         // Schedule section
-        numberOfEvents.setText(Integer.toString(user.getEventsNumber()));
-        busiestPeriod.setText(user.getBusiestPeriod());
+        numberOfEvents.setText(Integer.toString(statistics.getEventsNumber()));
+        busiestPeriod.setText(statistics.getBusiestPeriod());
 
         // Tasks section
-        numberOfTasks.setText(Integer.toString(user.getTasksNumber()));
-        tasksCompleted.setText(Integer.toString(user.getCompletedTasksNumber()));
+        numberOfTasks.setText(Integer.toString(statistics.getTasksNumber()));
+        tasksCompleted.setText(Integer.toString(statistics.getCompletedTasksNumber()));
     }
 }
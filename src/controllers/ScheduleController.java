@@ -2,6 +2,7 @@ package controllers;
 
 import controllers.utilities.ControlScene;
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.Refreshable;
 import controllers.utilities.SetupScene;
 import core.Day;
 import core.Session;
@@ -37,7 +38,7 @@ import java.util.ResourceBundle;
  *
  * Class which handles Schedule Tab functionality and UI.
  */
-public class ScheduleController extends DefaultNavigation implements Initializable {
+public class ScheduleController extends DefaultNavigation implements Initializable, Refreshable {
 
     // Top panel fields
     @FXML
@@ -137,14 +138,29 @@ public class ScheduleController extends DefaultNavigation implements Initializab
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        // Sets up top pane with data
+        initializeTopPane();
+
+        // Sets up the scene with user data
+        refresh();
+    }
+
+    @Override
+    public void refresh() {
+        // Cleans message in case it was displayed
+        errorMessage.setText("");
+
+        // Clears the effects of the buttons which were clicked to leave the scene
+        goToTodayButtonExited();
+        pane1GoToPeriodButtonExited();
+        pane2GoToPeriodButtonExited();
+        pane3GoToPeriodButtonExited();
+
         // Gets user periods
         userPeriods = Session.getSession().getAllPeriods();
 
         // If user has periods, hides information label
-        if(!userPeriods.isEmpty())  noPeriodsYetLabel.setVisible(false);
-
-        // Sets up top pane with data
-        initializeTopPane();
+        noPeriodsYetLabel.setVisible(userPeriods.isEmpty());
 
         // Sets up panes with information
         setupNavigationPanes();
@@ -171,7 +187,11 @@ public class ScheduleController extends DefaultNavigation implements Initializab
         final Timeline timeline = new Timeline(
                 new KeyFrame(
                         Duration.millis(500),
-                        event -> timeLabel.setText(LocalDateTime.now().format(timeFormatter))
+                        event -> {
+                            // Date changes too if the scene is kept over midnight
+                            timeLabel.setText(LocalDateTime.now().format(timeFormatter));
+                            todayLabel.setText(LocalDate.now().format(dateFormatter));
+                        }
                 )
         );
         timeline.setCycleCount(Animation.INDEFINITE);
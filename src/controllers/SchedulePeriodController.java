@@ -1,9 +1,12 @@
 package controllers;
 
 import controllers.utilities.ControlScene;
+import controllers.utilities.DataLoader;
 import controllers.utilities.DefaultNavigation;
 import controllers.utilities.SetupScene;
 import core.Event;
+import core.Period;
+import core.PeriodGraph;
 import core.Session;
 import core.Week;
 import core.enums.PopupType;
@@ -113,7 +116,11 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
     @FXML
     private Pane fridayEventsPane;
 
+    // Name of the background load of the period
+    private final static String PERIOD_LOAD = "Schedule period";
+
     // User specific variables
+    private PeriodGraph periodGraph;
     private Week userSelectedWeek;
     private Event[] mondayEventsList = new Event[]{null, null, null, null, null, null, null, null};
     private Event[] tuesdayEventsList = new Event[]{null, null, null, null, null, null, null, null};
@@ -123,20 +130,20 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Finds out which week should be selected by the user
-        userSelectedWeek = Week.getCurrentWeek(Session.getSchedulePeriodSelected().getAllWeeks());
-
-        // Saves selected week in session
-        Session.setScheduleWeekSelected(userSelectedWeek);
-
-        // Sets up navigation arrow visibility
-        configureNavigationArrows();
+        // Sets up period name label
+        periodNameLabel.setText("Year " + Session.getSchedulePeriodSelected().getAssociatedYear() +
+                ": " + Session.getSchedulePeriodSelected().getName());
 
-        // Sets up period and week information at the top
-        setupTopInformation();
+        // Shows placeholders until the period is loaded
+        for(Label label : new Label[]{weekNameLabel, weekDateLabel, mondayDateLabel, tuesdayDateLabel,
+                wednesdayDateLabel, thursdayDateLabel, fridayDateLabel}){
+            label.setText(DataLoader.PLACEHOLDER);
+        }
 
-        // Sets up dates of days in the calendar
-        setupWeekdaysDates();
+        // Hides navigation and buttons until the period is loaded
+        goLeftButton.setVisible(false);
+        goRightButton.setVisible(false);
+        addEventButton.setVisible(false);
 
         // Disables visibility of event pane
         eventInformationPane.setVisible(false);
@@ -144,8 +151,8 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
         // Disables visibility of edit event button, because no event is selected yet
         editEventButton.setVisible(false);
 
-        // Setups the schedule
-        setupSchedule();
+        // Loads the selected period with all of its weeks, days and events
+        loadPeriod();
     }
 
     /**
@@ -162,35 +169,51 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
             eventInformationPane.setVisible(false);
             // Hides the edit button in case event modified or deleted
             editEventButton.setVisible(false);
-            // Updates the calendar/schedule
-            cleanSchedule();
-            setupSchedule();
+            // Updates the calendar/schedule with the changed events
+            loadPeriod();
         }
     }
 
     /**
-     * Method which setups period and week information at the
-     * top of the scene.
+     * Loads the selected period with all of its weeks, days and events in the background.
      */
-    private void setupTopInformation(){
-        // Sets up period name label
-        periodNameLabel.setText("Year " + Session.getSchedulePeriodSelected().getAssociatedYear() +
-                ": " + Session.getSchedulePeriodSelected().getName());
+    private void loadPeriod(){
+        Period period = Session.getSchedulePeriodSelected();
+        DataLoader.load(PERIOD_LOAD, () -> PeriodGraph.load(period), this::showPeriod);
+    }
 
-        // Sets up week information labels
-        weekNameLabel.setText(userSelectedWeek.toString());
-        weekDateLabel.setText(userSelectedWeek.getWeekDate());
+    /**
+     * Shows the loaded period. Selects the current week, unless
+     * the user already selected one.
+     *
+     * @param graph loaded period
+     */
+    private void showPeriod(PeriodGraph graph){
+        periodGraph = graph;
+
+        // Finds out which week should be selected by the user
+        if(userSelectedWeek == null){
+            userSelectedWeek = periodGraph.getCurrentWeek();
+            // Saves selected week in session
+            Session.setScheduleWeekSelected(userSelectedWeek);
+        }
+
+        // Events can be added once the week is known
+        addEventButton.setVisible(true);
+
+        // Updates the week information and the schedule
+        updateAfterNavigation();
     }
 
     /**
      * Method which setups the dates of each weekday in the calendar.
      */
     private void setupWeekdaysDates(){
-        mondayDateLabel.setText(userSelectedWeek.getDay(DayOfWeek.MONDAY).getShortDate());
-        tuesdayDateLabel.setText(userSelectedWeek.getDay(DayOfWeek.TUESDAY).getShortDate());
-        wednesdayDateLabel.setText(userSelectedWeek.getDay(DayOfWeek.WEDNESDAY).getShortDate());
-        thursdayDateLabel.setText(userSelectedWeek.getDay(DayOfWeek.THURSDAY).getShortDate());
-        fridayDateLabel.setText(userSelectedWeek.getDay(DayOfWeek.FRIDAY).getShortDate());
+        mondayDateLabel.setText(periodGraph.getDay(userSelectedWeek, DayOfWeek.MONDAY).getShortDate());
+        tuesdayDateLabel.setText(periodGraph.getDay(userSelectedWeek, DayOfWeek.TUESDAY).getShortDate());
+        wednesdayDateLabel.setText(periodGraph.getDay(userSelectedWeek, DayOfWeek.WEDNESDAY).getShortDate());
+        thursdayDateLabel.setText(periodGraph.getDay(userSelectedWeek, DayOfWeek.THURSDAY).getShortDate());
+        fridayDateLabel.setText(periodGraph.getDay(userSelectedWeek, DayOfWeek.FRIDAY).getShortDate());
     }
 
     /**
@@ -199,7 +222,7 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
      */
     private void configureNavigationArrows(){
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = Session.getSchedulePeriodSelected().getAllWeeks();
+        List<Week> userWeeks = periodGraph.getWeeks();
         int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
 
         // Makes both arrows visible, in case previously disabled
@@ -285,7 +308,7 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
      */
     private void setupMondaySchedule(){
         // Gets all events of Monday
-        List<Event> dayEvents = userSelectedWeek.getDay(DayOfWeek.MONDAY).getAllEvents();
+        List<Event> dayEvents = periodGraph.getEvents(periodGraph.getDay(userSelectedWeek, DayOfWeek.MONDAY));
         // Goes through all events of that day
         for(Event event : dayEvents){
             List<Label> timeSlots = event.getTimeSlotsOfEvent(mondayEventsPane);
@@ -301,7 +324,7 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
      */
     private void setupTuesdaySchedule(){
         // Gets all events of Tuesday
-        List<Event> dayEvents = userSelectedWeek.getDay(DayOfWeek.TUESDAY).getAllEvents();
+        List<Event> dayEvents = periodGraph.getEvents(periodGraph.getDay(userSelectedWeek, DayOfWeek.TUESDAY));
         // Goes through all events of that day
         for(Event event : dayEvents){
             List<Label> timeSlots = event.getTimeSlotsOfEvent(tuesdayEventsPane);
@@ -317,7 +340,7 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
      */
     private void setupWednesdaySchedule(){
         // Gets all events of Wednesday
-        List<Event> dayEvents = userSelectedWeek.getDay(DayOfWeek.WEDNESDAY).getAllEvents();
+        List<Event> dayEvents = periodGraph.getEvents(periodGraph.getDay(userSelectedWeek, DayOfWeek.WEDNESDAY));
         // Goes through all events of that day
         for(Event event : dayEvents){
             List<Label> timeSlots = event.getTimeSlotsOfEvent(wednesdayEventsPane);
@@ -333,7 +356,7 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
      */
     private void setupThursdaySchedule(){
         // Gets all events of Thursday
-        List<Event> dayEvents = userSelectedWeek.getDay(DayOfWeek.THURSDAY).getAllEvents();
+        List<Event> dayEvents = periodGraph.getEvents(periodGraph.getDay(userSelectedWeek, DayOfWeek.THURSDAY));
         // Goes through all events of that day
         for(Event event : dayEvents){
             List<Label> timeSlots = event.getTimeSlotsOfEvent(thursdayEventsPane);
@@ -349,7 +372,7 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
      */
     private void setupFridaySchedule(){
         // Gets all events of Friday
-        List<Event> dayEvents = userSelectedWeek.getDay(DayOfWeek.FRIDAY).getAllEvents();
+        List<Event> dayEvents = periodGraph.getEvents(periodGraph.getDay(userSelectedWeek, DayOfWeek.FRIDAY));
         // Goes through all events of that day
         for(Event event : dayEvents){
             List<Label> timeSlots = event.getTimeSlotsOfEvent(fridayEventsPane);
@@ -487,7 +510,7 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
     @FXML
     private void goLeftClicked() {
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = Session.getSchedulePeriodSelected().getAllWeeks();
+        List<Week> userWeeks = periodGraph.getWeeks();
         int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
 
         // Updates the displayed week
@@ -507,7 +530,7 @@ public class SchedulePeriodController extends DefaultNavigation implements Initi
     @FXML
     private void goRightClicked() {
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = Session.getSchedulePeriodSelected().getAllWeeks();
+        List<Week> userWeeks = periodGraph.getWeeks();
         int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
 
         // Updates the displayed week
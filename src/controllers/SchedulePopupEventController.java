@@ -2,13 +2,13 @@ package controllers;
 
 import controllers.utilities.ControlScene;
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.ImageCache;
 import core.*;
 import core.enums.PopupType;
 import core.enums.ScheduleTime;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
@@ -117,9 +117,7 @@ public class SchedulePopupEventController extends DefaultNavigation implements I
         // Sets up the action button
         actionButtonLabel.setText(sceneType.toString());
 
-        Image newImage = new Image(SchedulePopupEventController.class.getResourceAsStream
-                ("/"+sceneType.toString().toLowerCase() + "_icon.png"));
-        actionButtonImage.setImage(newImage);
+        actionButtonImage.setImage(ImageCache.get(sceneType.toString().toLowerCase() + "_icon.png"));
 
         // Hides delete button if popup is Add
         if(sceneType == PopupType.ADD) deleteButton.setVisible(false);
@@ -258,25 +256,17 @@ public class SchedulePopupEventController extends DefaultNavigation implements I
         // If all fields are valid updates the event
         if(valid){
             Event thisEvent = Session.getScheduleEventSelected();
-            // Updates the time to check if it would clash
-            ScheduleTime oldStartTime = thisEvent.getStartTime();
-            ScheduleTime oldEndTime = thisEvent.getEndTime();
-            thisEvent.setStartTime(startTime);
-            thisEvent.setEndTime(endTime);
-            thisEvent.updateEvent();
-            // If newly updated event time clashes with existing events in the database the update is reversed
-            if(thisEvent.isTimeConflicting()){
+            // If the new time clashes with other events of the new day, the event is not updated
+            if(EventIndex.isConflicting(day.getId(), startTime, endTime, thisEvent.getId())){
                 ControlScene.highlightWrongField(startTimeComboBox);
                 ControlScene.highlightWrongField(endTimeComboBox);
                 errorMessageField.setText("Event's time clashes with another event's time.");
-                // Reverts the event back to its old time
-                thisEvent.setStartTime(oldStartTime);
-                thisEvent.setEndTime(oldEndTime);
-                thisEvent.updateEvent();
             }
             // If event doesn't clash all of its fields are updated
             else{
                 // Updates all fields and updates the database
+                thisEvent.setStartTime(startTime);
+                thisEvent.setEndTime(endTime);
                 thisEvent.setName(name);
                 thisEvent.setDescription(Event.alterEventDescription
                         (Session.getScheduleWeekSelected().getWeekNumber(), description));
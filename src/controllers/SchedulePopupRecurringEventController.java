@@ -188,20 +188,20 @@ public class SchedulePopupRecurringEventController extends DefaultNavigation imp
             int endIndex = weeksOfEvent.indexOf(endWeek);
             weeksOfEvent = weeksOfEvent.subList(startIndex, endIndex+1);
 
-            // Creates a dummy event to check whether time doesn't clash with other events
-            Event dummyEvent = new Event(0, 0, 0, "N/A", "N/A", startTime, endTime);
-            // Goes through all weeks of event to check for time clashes
-            boolean timeConflicts = false;
-            for(Week week : weeksOfEvent){
-                dummyEvent.setDayId(week.getDay(day.getDate().getDayOfWeek()).getId());
-                timeConflicts = dummyEvent.isTimeConflicting();
-            }
+            // Finds all weeks in which the time clashes with other events
+            List<Week> conflictingWeeks = EventIndex.getConflictingWeeks(weeksOfEvent,
+                    day.getDate().getDayOfWeek(), startTime, endTime);
 
-            // If time conflicts, displays error message
-            if(timeConflicts){
+            // If time conflicts, displays error message with the weeks of the clashes
+            if(!conflictingWeeks.isEmpty()){
                 ControlScene.highlightWrongField(startTimeComboBox);
                 ControlScene.highlightWrongField(endTimeComboBox);
-                errorMessageField.setText("Event's time clashes with another event's time.");
+                StringBuilder weekNumbers = new StringBuilder();
+                for(Week week : conflictingWeeks){
+                    if(weekNumbers.length() > 0) weekNumbers.append(", ");
+                    weekNumbers.append(week.getWeekNumber());
+                }
+                errorMessageField.setText("Event's time clashes with other events in weeks: " + weekNumbers + ".");
             }
             // If time does not conflict, creates recurring event
             else{
@@ -1,6 +1,7 @@
 package controllers;
 
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.Refreshable;
 
 /**
  * Organised.
@@ -12,5 +13,9 @@ import controllers.utilities.DefaultNavigation;
  *
  * Class which handles Settings Tab functionality and UI.
  */
-public class SettingsController extends DefaultNavigation {
+public class SettingsController extends DefaultNavigation implements Refreshable {
+    @Override
+    public void refresh() {
+        // Settings don't show any user data yet
+    }
 }
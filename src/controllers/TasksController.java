@@ -1,7 +1,9 @@
 package controllers;
 
 import controllers.utilities.ControlScene;
+import controllers.utilities.DataLoader;
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.Refreshable;
 import controllers.utilities.SetupScene;
 import core.Day;
 import core.Period;
@@ -24,6 +26,7 @@ import stages.PopupStage;
 import java.io.IOException;
 import java.net.URL;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -37,7 +40,7 @@ import java.util.ResourceBundle;
  *
  * Class which handles Tasks Tab functionality and UI.
  */
-public class TasksController extends DefaultNavigation implements Initializable {
+public class TasksController extends DefaultNavigation implements Initializable, Refreshable {
     // Stacked bar chart
     @FXML
     private Label stackedBarChartLabel;
@@ -138,20 +141,32 @@ public class TasksController extends DefaultNavigation implements Initializable
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        refresh();
+    }
+
+    @Override
+    public void refresh() {
+        // Cleans message in case it was displayed
+        errorMessage.setText("");
+
+        // Clears the effects of the buttons which were clicked to leave the scene
+        goToTodayButtonExited();
+        pane1GoToPeriodButtonExited();
+        pane2GoToPeriodButtonExited();
+        pane3GoToPeriodButtonExited();
+
         // Gets user periods
         userPeriods = Session.getSession().getAllPeriods();
 
-        // If user doesn't have any periods yet
-        if(userPeriods.isEmpty()){
-            stackedBarChart.setVisible(false);
-            stackedBarChartLabel.setVisible(false);
-            goToTodayButton.setVisible(false);
-        }
-        else{
-            noPeriodsYetLabel.setVisible(false);
-            // Sets up the stacked bar chart
-            setupStackedBarChart();
-        }
+        // Shows the stacked bar chart only if user has periods
+        boolean hasPeriods = !userPeriods.isEmpty();
+        stackedBarChart.setVisible(hasPeriods);
+        stackedBarChartLabel.setVisible(hasPeriods);
+        goToTodayButton.setVisible(hasPeriods);
+        noPeriodsYetLabel.setVisible(!hasPeriods);
+
+        // Sets up the stacked bar chart
+        if(hasPeriods) setupStackedBarChart();
 
         // Sets up panes with information
         setupNavigationPanes();
@@ -162,10 +177,36 @@ public class TasksController extends DefaultNavigation implements Initializable
 
     /**
      * Method which sets up the stacked bar chart of the scene with
-     * task completion data of each period.
+     * task completion data of each period. Tasks are counted in the background,
+     * the chart keeps showing the previous data until they are counted.
      */
     @FXML
     private void setupStackedBarChart(){
+        List<Period> periods = userPeriods;
+        DataLoader.load("Tasks chart", () -> countTasks(periods), this::showStackedBarChart);
+    }
+
+    /**
+     * Method which counts completed, not completed and dropped tasks of each period.
+     *
+     * @param periods periods to count the tasks of
+     * @return numbers of tasks of each period, in the order of the task statuses
+     */
+    private static List<int[]> countTasks(List<Period> periods){
+        List<int[]> taskNumbers = new ArrayList<>();
+        for(Period period : periods){
+            taskNumbers.add(new int[]{period.getTasksByStatus(TaskStatus.YES),
+                    period.getTasksByStatus(TaskStatus.NO), period.getTasksByStatus(TaskStatus.DROPPED)});
+        }
+        return taskNumbers;
+    }
+
+    /**
+     * Method which shows the counted tasks of each period in the stacked bar chart.
+     *
+     * @param taskNumbers numbers of completed, not completed and dropped tasks of each period
+     */
+    private void showStackedBarChart(List<int[]> taskNumbers){
         // Cleans chart in case it was setup before
         stackedBarChart.getData().clear();
         ((CategoryAxis) stackedBarChart.getXAxis()).getCategories().clear();
@@ -174,7 +215,7 @@ public class TasksController extends DefaultNavigation implements Initializable
         int periodNumber = 1;
 
         // Defines axis categories
-        for(Period ignored : userPeriods){
+        for(int[] ignored : taskNumbers){
             ((CategoryAxis) stackedBarChart.getXAxis()).getCategories().add("Period "+periodNumber);
             periodNumber++;
         }
@@ -191,11 +232,11 @@ public class TasksController extends DefaultNavigation implements Initializable
 
         // Adds period data to the series
         periodNumber = 1;
-        for(Period period : userPeriods){
+        for(int[] periodTasks : taskNumbers){
             // Adds task data to series
-            seriesYes.getData().add(new XYChart.Data<>("Period "+periodNumber, period.getTasksByStatus(TaskStatus.YES)));
-            seriesNo.getData().add(new XYChart.Data<>("Period "+periodNumber, period.getTasksByStatus(TaskStatus.NO)));
-            seriesDropped.getData().add(new XYChart.Data<>("Period "+periodNumber, period.getTasksByStatus(TaskStatus.DROPPED)));
+            seriesYes.getData().add(new XYChart.Data<>("Period "+periodNumber, periodTasks[0]));
+            seriesNo.getData().add(new XYChart.Data<>("Period "+periodNumber, periodTasks[1]));
+            seriesDropped.getData().add(new XYChart.Data<>("Period "+periodNumber, periodTasks[2]));
             periodNumber++;
         }
 
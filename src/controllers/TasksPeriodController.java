@@ -1,6 +1,7 @@
 package controllers;
 
 import controllers.utilities.ControlScene;
+import controllers.utilities.DataLoader;
 import controllers.utilities.DefaultNavigation;
 import controllers.utilities.SetupScene;
 import core.*;
@@ -102,7 +103,11 @@ public class TasksPeriodController extends DefaultNavigation implements Initiali
     @FXML
     private Pane allTasksPane;
 
+    // Name of the background load of the period
+    private final static String PERIOD_LOAD = "Tasks period";
+
     // User specific variables
+    private PeriodGraph periodGraph;
     private Week userSelectedWeek;
     private Task[] taskList = new Task[]{null, null, null, null, null, null, null, null, null, null};
     private List<Task> tasksOfWeek;
@@ -113,32 +118,63 @@ public class TasksPeriodController extends DefaultNavigation implements Initiali
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Finds out which week should be selected by the user
-        userSelectedWeek = Week.getCurrentWeek(Session.getTasksPeriodSelected().getAllWeeks());
-        // Saves selected week in session
-        Session.setTasksWeekSelected(userSelectedWeek);
-        // Saves tasks of the week in a list
-        tasksOfWeek = userSelectedWeek.getAllTasks();
+        // Sets up period name label
+        Period currentPeriod = Session.getTasksPeriodSelected();
+        periodNameLabel.setText("Year " + currentPeriod.getAssociatedYear() +
+                ": " + currentPeriod.getName());
 
-        // Sets up navigation arrow visibility
-        configureNavigationArrows();
+        // Shows placeholders until the period is loaded
+        weekNameLabel.setText(DataLoader.PLACEHOLDER);
+        weekDateLabel.setText(DataLoader.PLACEHOLDER);
+        tasksCompletedInfoLabel.setText("Week Task Completion:");
+        tasksCompletedLabel.setText(DataLoader.PLACEHOLDER);
+        progressBar.setVisible(false);
+
+        // Hides navigation, buttons and the task list until the period is loaded
+        goLeftButton.setVisible(false);
+        goRightButton.setVisible(false);
+        addTaskButton.setVisible(false);
+        moreTasksButton.setVisible(false);
+        moduleLabel.setVisible(false);
+        taskLabel.setVisible(false);
+        completeLabel.setVisible(false);
+        for(Node node : allTasksPane.getChildren()){
+            node.setVisible(false);
+        }
 
-        // Sets up period and week information at the top
-        setupTopInformation();
+        // Loads the selected period with all of its weeks and tasks
+        loadPeriod();
+    }
 
-        // Sets up the progress bar and label
-        setupProgressBar();
+    /**
+     * Loads the selected period with all of its weeks and tasks in the background.
+     */
+    private void loadPeriod(){
+        Period period = Session.getTasksPeriodSelected();
+        DataLoader.load(PERIOD_LOAD, () -> PeriodGraph.load(period), this::showPeriod);
+    }
 
-        // Determines visibility of moreTasksButton
-        moreTasksButton.setVisible(tasksOfWeek.size() > MAX_PANES);
+    /**
+     * Shows the loaded period. Selects the current week, unless
+     * the user already selected one.
+     *
+     * @param graph loaded period
+     */
+    private void showPeriod(PeriodGraph graph){
+        periodGraph = graph;
 
-        // If there are no tasks to display, hides the task list elements
-        if(tasksOfWeek.isEmpty()) visibilityOfTaskListElements(false);
-        // Setups task list
-        else{
-            currentlyDisplayedBatch = 0;
-            setupTaskList();
+        // Finds out which week should be selected by the user
+        if(userSelectedWeek == null){
+            userSelectedWeek = periodGraph.getCurrentWeek();
+            // Saves selected week in session
+            Session.setTasksWeekSelected(userSelectedWeek);
         }
+
+        // Tasks can be added once the week is known
+        addTaskButton.setVisible(true);
+
+        // Updates the week information and the task list
+        updateAfterNavigation();
     }
 
     /**
@@ -166,7 +202,8 @@ public class TasksPeriodController extends DefaultNavigation implements Initiali
         if(Session.isTasksTaskListChanged()){
             // Resets session variable
             Session.setTasksTaskListChanged(false);
-            updateAfterNavigation();
+            // Loads the changed tasks
+            loadPeriod();
         }
     }
 
@@ -192,8 +229,9 @@ public class TasksPeriodController extends DefaultNavigation implements Initiali
      */
     private void setupProgressBar(){
         // Gets the relevant tasks for calculations
-        double completedTasks = userSelectedWeek.getTasksByStatus(TaskStatus.YES) + userSelectedWeek.getTasksByStatus(TaskStatus.DROPPED);
-        double allTasks = userSelectedWeek.getTasksByStatus(null);
+        double completedTasks = periodGraph.getTasksByStatus(userSelectedWeek, TaskStatus.YES) +
+                periodGraph.getTasksByStatus(userSelectedWeek, TaskStatus.DROPPED);
+        double allTasks = periodGraph.getTasksByStatus(userSelectedWeek, null);
 
         // Sets up the progress bar and the progress label
         progressBar.setVisible(true);
@@ -441,7 +479,7 @@ public class TasksPeriodController extends DefaultNavigation implements Initiali
     @FXML
     private void goLeftClicked() {
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = Session.getTasksPeriodSelected().getAllWeeks();
+        List<Week> userWeeks = periodGraph.getWeeks();
         int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
 
         // Updates the displayed week
@@ -461,7 +499,7 @@ public class TasksPeriodController extends DefaultNavigation implements Initiali
     @FXML
     private void goRightClicked() {
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = Session.getTasksPeriodSelected().getAllWeeks();
+        List<Week> userWeeks = periodGraph.getWeeks();
         int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
 
         // Updates the displayed week
@@ -486,7 +524,7 @@ public class TasksPeriodController extends DefaultNavigation implements Initiali
         configureNavigationArrows();
 
         // Updates the task list
-        tasksOfWeek = userSelectedWeek.getAllTasks();
+        tasksOfWeek = periodGraph.getTasks(userSelectedWeek);
 
         // Determines visibility of moreTasksButton
         moreTasksButton.setVisible(tasksOfWeek.size() > MAX_PANES);
@@ -506,7 +544,7 @@ public class TasksPeriodController extends DefaultNavigation implements Initiali
      */
     private void configureNavigationArrows(){
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = Session.getTasksPeriodSelected().getAllWeeks();
+        List<Week> userWeeks = periodGraph.getWeeks();
         int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
 
         // Makes both arrows visible, in case previously disabled
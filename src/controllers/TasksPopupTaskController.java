@@ -2,6 +2,7 @@ package controllers;
 
 import controllers.utilities.ControlScene;
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.ImageCache;
 import core.Module;
 import core.Session;
 import core.Task;
@@ -12,7 +13,6 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
@@ -83,9 +83,7 @@ public class TasksPopupTaskController extends DefaultNavigation implements Initi
         // Sets up the action button
         actionButtonLabel.setText(sceneType.toString());
 
-        Image newImage = new Image(TasksPopupTaskController.class.getResourceAsStream
-                ("/"+sceneType.toString().toLowerCase() + "_icon.png"));
-        actionButtonImage.setImage(newImage);
+        actionButtonImage.setImage(ImageCache.get(sceneType.toString().toLowerCase() + "_icon.png"));
 
         // Hides delete button if popup is Add
         if(sceneType == PopupType.ADD) deleteButton.setVisible(false);
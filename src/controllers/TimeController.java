@@ -2,6 +2,7 @@ package controllers;
 
 import controllers.utilities.ControlScene;
 import controllers.utilities.DefaultNavigation;
+import controllers.utilities.Refreshable;
 import controllers.utilities.SetupScene;
 import core.Day;
 import core.Period;
@@ -42,7 +43,7 @@ import java.util.ResourceBundle;
  *
  * Class which handles Time Tab functionality and UI.
  */
-public class TimeController extends DefaultNavigation implements Initializable {
+public class TimeController extends DefaultNavigation implements Initializable, Refreshable {
 
     // Top pane values
     @FXML
@@ -126,8 +127,25 @@ public class TimeController extends DefaultNavigation implements Initializable {
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Cleans session variables in case they exist
+        // Sets up the baseline of bar chart
+        setupBaselineOfBarChart();
+
+        // Sets up the scene with user data
+        refresh();
+    }
+
+    @Override
+    public void refresh() {
+        // Cleans session variables & messages in case they exist
         Session.setTimePeriodSelected(null);
+        errorMessage.setText("");
+
+        // Clears the effects of the panes which were clicked to leave the scene
+        goToTodayButtonExited();
+        navigationPane1Exited();
+        navigationPane2Exited();
+        navigationPane3Exited();
+        navigationPane4Exited();
 
         // Gets all user periods
         userPeriods = Session.getSession().getAllPeriods();
@@ -139,21 +157,14 @@ public class TimeController extends DefaultNavigation implements Initializable {
         // Sets up navigation panes
         setupNavigation();
 
-        // Sets up the baseline of bar chart
-        setupBaselineOfBarChart();
+        // Shows the bar chart only if user has periods
+        boolean hasPeriods = !userPeriods.isEmpty();
+        barChart.setVisible(hasPeriods);
+        barChartLabel.setVisible(hasPeriods);
+        noPeriodsYetLabel.setVisible(!hasPeriods);
 
-        // If user doesn't have any periods yet
-        if(userPeriods.isEmpty()){
-            barChart.setVisible(false);
-            barChartLabel.setVisible(false);
-        }
-        // If user has periods
-        else{
-            noPeriodsYetLabel.setVisible(false);
-
-            // Sets up the bar chart
-            setupBarChart();
-        }
+        // Sets up the bar chart
+        if(hasPeriods) setupBarChart();
     }
 
     /**
@@ -320,7 +331,7 @@ public class TimeController extends DefaultNavigation implements Initializable {
         barChartPane.getChildren().addAll(baseLine);
 
         // Sets line style and adds it to the bar chart pane
-        baseLine.setStyle("-fx-stroke: white; -fx-stroke-width: 3");
+        baseLine.getStyleClass().add("chart-baseline");
 
         // Listener to update the baseline after initial start
         barChart.boundsInLocalProperty().addListener((observable, oldValue, newValue) -> Platform.runLater(this::drawBarChartBaseline));
@@ -653,8 +664,7 @@ public class TimeController extends DefaultNavigation implements Initializable {
      * @param period period name label of the navigation pane
      */
     private void navigationPaneHovered(Pane pane, Label year, Label period){
-        pane.setStyle("-fx-background-color: white; -fx-background-radius: 20; " +
-                "-fx-border-style: solid; -fx-border-color: white; -fx-border-width: 5; -fx-border-radius: 20");
+        pane.pseudoClassStateChanged(ControlScene.HOVERED, true);
         year.setTextFill(Paint.valueOf("#000000"));
         period.setTextFill(Paint.valueOf("#000000"));
     }
@@ -668,8 +678,7 @@ public class TimeController extends DefaultNavigation implements Initializable {
      * @param period period name label of the navigation pane
      */
     private void navigationPaneExited(Pane pane, Label year, Label period){
-        pane.setStyle("-fx-background-color: none; -fx-background-radius: 20; " +
-                "-fx-border-style: solid; -fx-border-color: white; -fx-border-width: 5; -fx-border-radius: 20");
+        pane.pseudoClassStateChanged(ControlScene.HOVERED, false);
         year.setTextFill(Paint.valueOf("#FFFFFF"));
         period.setTextFill(Paint.valueOf("#E6BB9A"));
     }
@@ -1,6 +1,7 @@
 package controllers;
 
 import controllers.utilities.ControlScene;
+import controllers.utilities.DataLoader;
 import controllers.utilities.DefaultNavigation;
 import controllers.utilities.SetupScene;
 import core.*;
@@ -8,6 +9,7 @@ import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Bounds;
@@ -30,6 +32,9 @@ import stages.AlertStage;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -42,6 +47,11 @@ import java.util.ResourceBundle;
  * found in the LICENSE file in the root directory of this source tree.
  *
  * Class which handles Time Tab functionality and UI when a Period is selected.
+ *
+ * The charts keep their series for as long as the scene is shown. When hours
+ * are added, removed or another week is selected, only the points whose value
+ * changed are updated, so the charts aren't rebuilt and the hours of the other
+ * weeks aren't queried again.
  */
 public class TimePeriodController extends DefaultNavigation implements Initializable {
     // Top information pane elements
@@ -128,10 +138,21 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
     @FXML
     private Pane barChartPane;
     private final Line baseLine = new Line();
+    // Series shown by the charts, their points are updated in place
+    private final XYChart.Series<String, Number> dayBaselineSeries = new XYChart.Series<>();
+    private final XYChart.Series<String, Number> dayHoursSeries = new XYChart.Series<>();
+    private final XYChart.Series<String, Number> weekHoursSeries = new XYChart.Series<>();
+    // Updates of the charts, how long they took and how many points they changed
+    private static long chartUpdates = 0;
+    private static long chartUpdateNanos = 0;
+    private static long pointsChanged = 0;
 
     // Variables to store user data
     private Period userSelectedPeriod;
+    private List<Week> periodWeeks;
     private Week userSelectedWeek;
+    // Days of the selected week, added and deleted time changes their hours in place
+    private List<Day> weekDays;
     private final Stopwatch stopwatch = new Stopwatch();
 
     @Override
@@ -139,8 +160,9 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
         // Gets the period selected by the user
         userSelectedPeriod = Session.getTimePeriodSelected();
 
-        // Finds out which week should be selected by the user
-        userSelectedWeek = Week.getCurrentWeek(userSelectedPeriod.getAllWeeks());
+        // Gets the weeks of the period once and finds out which week should be selected by the user
+        periodWeeks = userSelectedPeriod.getAllWeeks();
+        userSelectedWeek = Week.getCurrentWeek(periodWeeks);
 
         // Setups the combo box for days in the minutes addition panel
         setupDayComboBox();
@@ -160,11 +182,8 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
         // Setups the baseline for the barchart
         setupBaselineOfBarChart();
 
-        // Setups bar chart
+        // Setups bar chart, which draws the baseline once the data is loaded
         setupBarChart();
-
-        // Draws the baseline for the data
-        drawBarChartBaseline();
     }
 
     /**
@@ -172,7 +191,8 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
      * selected week's days.
      */
     private void setupDayComboBox(){
-        daysComboBox.getItems().setAll(userSelectedWeek.getAllDays());
+        weekDays = userSelectedWeek.getAllDays();
+        daysComboBox.getItems().setAll(weekDays);
         // Styles semester combo box text
         ControlScene.setupComboBoxStyle(daysComboBox);
         daysComboBox.setValue(null);
@@ -199,14 +219,31 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
         weekDateLabel.setText(userSelectedWeek.getWeekDate());
 
         // Setups bottom fields
+        int weekHours = getSelectedWeekHours();
+        // 7 days in a week
+        int dailyAverage = (int) Math.round(weekHours * 60 / 7.0);
         minutesLeftForPeriodField.setText(userSelectedPeriod.getMinutesLeft()+" min");
-        dailyAverageField.setText(userSelectedWeek.getDailyAverage()/60+"h  "
-                +userSelectedWeek.getDailyAverage()%60+"min");
-        weekOverallField.setText(userSelectedWeek.getAllWeekHours()+"h");
+        dailyAverageField.setText(dailyAverage/60+"h  "+dailyAverage%60+"min");
+        weekOverallField.setText(weekHours+"h");
+    }
+
+    /**
+     * Method which sums the hours of the days of the selected week.
+     *
+     * @return hours spent working during the selected week
+     */
+    private int getSelectedWeekHours(){
+        int hours = 0;
+        for(Day day : weekDays){
+            hours += day.getHoursSpent();
+        }
+        return hours;
     }
 
     /**
-     * Method which setups the bar chart of the scene.
+     * Method which setups the bar chart of the scene. Hours of the weeks are
+     * loaded in the background, the chart keeps showing the previous data
+     * until they are loaded.
      */
     private void setupBarChart(){
         // Disables chart animation
@@ -215,17 +252,64 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
         // Disables the legend
         barChart.setLegendVisible(false);
 
-        // Cleans previous data in case needed
-        barChart.getData().clear();
-
         // Sets the font & size of the chart text
         barChart.getYAxis().setTickLabelFont(Font.font("Arial Rounded MT Bold", FontWeight.BOLD, 18));
         barChart.getXAxis().setTickLabelFont(Font.font("Arial Rounded MT Bold", FontWeight.BOLD, 18));
 
-        // Adds user data to the series
-        int elementNumber = loadUserDataBarChart();
+        // Setups Y axis bounds and tick mark density
+        final int WORK_DAYS = 5;
+        barChart.getYAxis().setAutoRanging(false);
+        ((NumberAxis) barChart.getYAxis()).setTickUnit(5.0);
+        ((NumberAxis) barChart.getYAxis()).setLowerBound(0);
+        ((NumberAxis) barChart.getYAxis()).setUpperBound(Day.MAX_WORK_HOURS*WORK_DAYS);
+
+        // Adds the series once, its bars are filled once the data is loaded
+        barChart.getData().setAll(Collections.singletonList(weekHoursSeries));
+
+        // Loads user data in the background
+        List<Week> weeks = periodWeeks;
+        User user = Session.getSession();
+        DataLoader.load("Time period chart", () -> loadUserDataBarChart(weeks, user), this::showBarChart);
+    }
+
+    /**
+     * Method which loads user's week data of the given Period for the
+     * bar chart.
+     *
+     * @param weeks weeks of the period
+     * @param user user the period belongs to
+     * @return hours of each week
+     */
+    private static List<Integer> loadUserDataBarChart(List<Week> weeks, User user){
+        // Gets each Week's of the Period hours
+        List<Integer> weekHours = new ArrayList<>();
+        for(Week week : weeks){
+            weekHours.add(week.getAllWeekHours());
+        }
+
+        // Calculates the baseline, so drawing it doesn't query the database
+        user.getOverallHoursSpentWeekBaseline();
+
+        return weekHours;
+    }
+
+    /**
+     * Method which shows the loaded week data in the bar chart.
+     *
+     * @param weekHours hours of each week
+     */
+    private void showBarChart(List<Integer> weekHours){
+        // Names the bars of the weeks
+        List<String> weekNames = new ArrayList<>();
+        for(Week week : periodWeeks){
+            // If there are more weeks, changes the naming convention to fit nicely
+            if(periodWeeks.size()>5) weekNames.add("W"+week.getWeekNumber());
+            else weekNames.add(week.toString());
+        }
+        updateSeries(weekHoursSeries, weekNames, weekHours);
 
         // Adjusts bar size based on the number of user data
+        int elementNumber = weekHours.size();
         final int DEFAULT_CATEGORY_GAP = 100;
         final int GAP_ADJUSTING_INCREMENT = 20;
         final int NEED_TO_ADJUST_SIZE = 8;
@@ -239,35 +323,28 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
     }
 
     /**
-     * Method which loads user's week data of the given Period into the
-     * bar chart.
+     * Method which updates the bar of the selected week and the baseline
+     * of the bar chart, after hours of the week changed.
      *
-     * @return number of elements(bars) in the chart.
-     */
-    private int loadUserDataBarChart(){
-        // Creates a series for the chart
-        XYChart.Series<String, Number> barChartSeries = new XYChart.Series<>();
-
-        // Adds each Week's of the Period data to the series
-        for(Week week : userSelectedPeriod.getAllWeeks()){
-            String name = week.toString();
-            // If there are more weeks, changes the naming convention to fit nicely
-            if(userSelectedPeriod.getAllWeeks().size()>5) name = "W"+week.getWeekNumber();
-            barChartSeries.getData().add(new XYChart.Data<>(name, week.getAllWeekHours()));
+     * @return number of bars changed
+     */
+    private int updateSelectedWeekBar(){
+        int changed = 0;
+
+        // Bars are missing until the hours of the weeks are loaded
+        int index = periodWeeks.indexOf(userSelectedWeek);
+        if(index < weekHoursSeries.getData().size()){
+            XYChart.Data<String, Number> bar = weekHoursSeries.getData().get(index);
+            Integer hours = getSelectedWeekHours();
+            if(!hours.equals(bar.getYValue())){
+                bar.setYValue(hours);
+                changed++;
+            }
         }
 
-        // Setups Y axis bounds and tick mark density
-        final int WORK_DAYS = 5;
-        barChart.getYAxis().setAutoRanging(false);
-        ((NumberAxis) barChart.getYAxis()).setTickUnit(5.0);
-        ((NumberAxis) barChart.getYAxis()).setLowerBound(0);
-        ((NumberAxis) barChart.getYAxis()).setUpperBound(Day.MAX_WORK_HOURS*WORK_DAYS);
-
-        // Adds the data to the chart
-        barChart.getData().add(barChartSeries);
-
-        // Returns the number of elements(bars) in the chart
-        return barChartSeries.getData().size();
+        // Average of the weeks might have changed too
+        drawBarChartBaseline();
+        return changed;
     }
 
     /**
@@ -299,7 +376,7 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
         barChartPane.getChildren().addAll(baseLine);
 
         // Sets line style and adds it to the bar chart pane
-        baseLine.setStyle("-fx-stroke: white; -fx-stroke-width: 3");
+        baseLine.getStyleClass().add("chart-baseline");
 
         // Listener to update the baseline after initial start
         barChart.boundsInLocalProperty().addListener((observable, oldValue, newValue) -> Platform.runLater(this::drawBarChartBaseline));
@@ -312,9 +389,6 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
         // Disables chart animation
         lineChart.setAnimated(false);
 
-        // Cleans chart data, in case there was something displayed
-        lineChart.getData().clear();
-
         // Disables the legend
         lineChart.setLegendVisible(false);
 
@@ -328,41 +402,103 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
         ((NumberAxis) lineChart.getYAxis()).setLowerBound(0);
         ((NumberAxis) lineChart.getYAxis()).setUpperBound(Day.MAX_WORK_HOURS);
 
-        // Adds the baseline to the line chart
-        addBaselineToLineChart();
+        // Adds the baseline first and the user data on top of it
+        lineChart.getData().setAll(Arrays.asList(dayBaselineSeries, dayHoursSeries));
 
         // Populates line chart with user data
-        loadUserDataLineChart();
+        updateLineChart();
     }
 
     /**
-     * Method which loads user data about days of a given week into the line chart.
+     * Method which updates the line chart with the days of the selected week
+     * and the baseline of the user.
+     *
+     * @return number of points changed
      */
-    private void loadUserDataLineChart(){
-        // Creates a series for the chart
-        XYChart.Series<String, Number> lineChartSeries = new XYChart.Series<>();
+    private int updateLineChart(){
+        List<String> dayNames = new ArrayList<>();
+        List<Integer> dayHours = new ArrayList<>();
+        List<Double> baselineHours = new ArrayList<>();
 
-        // Adds each Day's of the selected Week average as data to the bar chart
-        for(Day day : userSelectedWeek.getAllDays()){
-            lineChartSeries.getData().add(new XYChart.Data<>(day.getShortName(), day.getHoursSpent()));
+        // Gets each Day's of the selected Week hours and the baseline for it
+        double baseline = Session.getSession().getOverallHoursSpentDayBaseline();
+        for(Day day : weekDays){
+            dayNames.add(day.getShortName());
+            dayHours.add(day.getHoursSpent());
+            baselineHours.add(baseline);
         }
 
-        // Adds the data to the chart
-        lineChart.getData().add(lineChartSeries);
+        return updateSeries(dayBaselineSeries, dayNames, baselineHours)
+                + updateSeries(dayHoursSeries, dayNames, dayHours);
     }
 
-    private void addBaselineToLineChart(){
-        // Creates a series for the chart
-        XYChart.Series<String, Number> lineChartSeries = new XYChart.Series<>();
+    /**
+     * Method which updates the points of a chart series to the given values.
+     * Only the points whose value changed are updated. The points are replaced
+     * only if their names changed.
+     *
+     * @param series series to update
+     * @param names names of the points
+     * @param values values of the points
+     * @return number of points changed
+     */
+    private static int updateSeries(XYChart.Series<String, Number> series, List<String> names,
+                                    List<? extends Number> values){
+        ObservableList<XYChart.Data<String, Number>> points = series.getData();
+
+        // Checks whether the points have the same names in the same order
+        boolean sameNames = points.size() == names.size();
+        for(int i = 0; sameNames && i < names.size(); i++){
+            sameNames = points.get(i).getXValue().equals(names.get(i));
+        }
 
-        // Adds each point of the baseline
-        double baseline = Session.getSession().getOverallHoursSpentDayBaseline();
-        for(Day day : userSelectedWeek.getAllDays()){
-            lineChartSeries.getData().add(new XYChart.Data<>(day.getShortName(), baseline));
+        // Replaces all points at once, if the names differ
+        if(!sameNames){
+            List<XYChart.Data<String, Number>> newPoints = new ArrayList<>();
+            for(int i = 0; i < names.size(); i++){
+                newPoints.add(new XYChart.Data<>(names.get(i), values.get(i)));
+            }
+            points.setAll(newPoints);
+            return newPoints.size();
         }
 
-        // Adds the data to the chart
-        lineChart.getData().add(lineChartSeries);
+        // Otherwise updates only the changed values
+        int changed = 0;
+        for(int i = 0; i < names.size(); i++){
+            if(!values.get(i).equals(points.get(i).getYValue())){
+                points.get(i).setYValue(values.get(i));
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Method which updates the charts after hours changed or another week
+     * was selected, and keeps how long it took.
+     *
+     * @param hoursChanged true if hours of the selected week changed
+     */
+    private void updateCharts(boolean hoursChanged){
+        long start = System.nanoTime();
+
+        int changed = updateLineChart();
+        if(hoursChanged) changed += updateSelectedWeekBar();
+
+        chartUpdates++;
+        chartUpdateNanos += System.nanoTime() - start;
+        pointsChanged += changed;
+    }
+
+    /**
+     * Returns how many times the charts were updated, how long it took on
+     * average and how many points were changed.
+     *
+     * @return statistics of the chart updates
+     */
+    public static String getStatistics() {
+        return String.format("Time period charts: updates: %d, average: %.1f ms, points changed: %d",
+                chartUpdates, chartUpdates == 0 ? 0 : chartUpdateNanos / 1e6 / chartUpdates, pointsChanged);
     }
 
     /**
@@ -371,8 +507,7 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
      */
     private void configureNavigationArrows(){
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = userSelectedPeriod.getAllWeeks();
-        int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
+        int indexOfSelectedWeek = periodWeeks.indexOf(userSelectedWeek);
 
         // Makes both arrows visible, in case previously disabled
         goLeftButton.setVisible(true);
@@ -380,7 +515,7 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
 
         // Disables the arrows, based on current week selection
         if(indexOfSelectedWeek == 0) goLeftButton.setVisible(false);
-        if(indexOfSelectedWeek == userWeeks.size()-1) goRightButton.setVisible(false);
+        if(indexOfSelectedWeek == periodWeeks.size()-1) goRightButton.setVisible(false);
     }
 
     /**
@@ -466,11 +601,8 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
                 // Updates the fields with user information
                 setupUserInformation();
 
-                // Updates line chart
-                setupLineChart();
-
-                // Updates bar chart
-                setupBarChart();
+                // Updates the changed points of the charts
+                updateCharts(true);
             }
         }
     }
@@ -514,19 +646,15 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
             // If everything is good, deletes the time from the day
             else {
                 // Deletes the time
-                day.removeHours(hours);
-                day.updateDay();
+                userSelectedPeriod.removeHours(day, hours);
                 errorMessage.setText("Time deletion successful!");
 
                 // Refreshes the screen
                 // Updates the fields with user information
                 setupUserInformation();
 
-                // Updates line chart
-                setupLineChart();
-
-                // Updates bar chart
-                setupBarChart();
+                // Updates the changed points of the charts
+                updateCharts(true);
             }
         }
     }
@@ -613,11 +741,10 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
     @FXML
     private void goLeftClicked() {
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = userSelectedPeriod.getAllWeeks();
-        int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
+        int indexOfSelectedWeek = periodWeeks.indexOf(userSelectedWeek);
 
         // Updates the displayed week
-        userSelectedWeek = userWeeks.get(indexOfSelectedWeek-1);
+        userSelectedWeek = periodWeeks.get(indexOfSelectedWeek-1);
 
         // Updates the scene
         updateAfterNavigation();
@@ -630,11 +757,10 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
     @FXML
     private void goRightClicked() {
         // Finds the index of the selected Week in the list of all Weeks of Period
-        List<Week> userWeeks = userSelectedPeriod.getAllWeeks();
-        int indexOfSelectedWeek = userWeeks.indexOf(userSelectedWeek);
+        int indexOfSelectedWeek = periodWeeks.indexOf(userSelectedWeek);
 
         // Updates the displayed week
-        userSelectedWeek = userWeeks.get(indexOfSelectedWeek+1);
+        userSelectedWeek = periodWeeks.get(indexOfSelectedWeek+1);
 
         // Updates the scene
         updateAfterNavigation();
@@ -654,8 +780,8 @@ public class TimePeriodController extends DefaultNavigation implements Initializ
         // Configures navigation arrow visibility
         configureNavigationArrows();
 
-        // Setups line chart
-        setupLineChart();
+        // Updates the line chart with the days of the week
+        updateCharts(false);
 
         // Removes possible error messages if any
         errorMessage.setText("");
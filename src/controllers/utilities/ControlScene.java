@@ -1,9 +1,9 @@
 package controllers.utilities;
 
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
@@ -20,8 +20,16 @@ import javafx.stage.Stage;
  * found in the LICENSE file in the root directory of this source tree.
  *
  * Class which captures main methods, which control a scene.
+ *
+ * Hovered and wrong elements are styled by controlStyling.css through
+ * their pseudo-class states, so no styles are parsed when the state changes.
  */
 public class ControlScene {
+    // States of the elements, used by controlStyling.css
+    public final static PseudoClass HOVERED = PseudoClass.getPseudoClass("hovered");
+    public final static PseudoClass INVALID = PseudoClass.getPseudoClass("invalid");
+    private final static PseudoClass PROMPT = PseudoClass.getPseudoClass("prompt");
+
     /**
      * Method which closes the window when close button is clicked.
      *
@@ -54,8 +62,7 @@ public class ControlScene {
      * @param image image/button to change
      */
     public static void controlButtonEffect(String imageName, ImageView image) {
-        Image newImage = new Image(ControlScene.class.getResourceAsStream("/"+imageName));
-        image.setImage(newImage);
+        image.setImage(ImageCache.get(imageName));
     }
 
     /**
@@ -65,7 +72,7 @@ public class ControlScene {
      * @param button button to change the style of
      */
     public static void buttonHovered(Button button){
-        button.setStyle("-fx-background-color: #E6BB9A; -fx-background-radius: 10");
+        button.pseudoClassStateChanged(HOVERED, true);
     }
 
     /**
@@ -78,10 +85,9 @@ public class ControlScene {
      * @param imageName name of the image
      */
     public static void buttonHovered(Pane pane, ImageView image, Label label, String imageName){
-        pane.setStyle("-fx-background-color: white; -fx-background-radius: 20");
+        pane.pseudoClassStateChanged(HOVERED, true);
 
-        Image newImage = new Image(ControlScene.class.getResourceAsStream("/"+imageName));
-        image.setImage(newImage);
+        image.setImage(ImageCache.get(imageName));
 
         label.setTextFill(Color.rgb(0, 0, 0));
     }
@@ -94,7 +100,7 @@ public class ControlScene {
      * @param button button to change the style of
      */
     public static void buttonExited(Button button){
-        button.setStyle("-fx-background-color: white; -fx-background-radius: 10");
+        button.pseudoClassStateChanged(HOVERED, false);
     }
 
     /**
@@ -107,11 +113,9 @@ public class ControlScene {
      * @param imageName name of the image
      */
     public static void buttonExited(Pane pane, ImageView image, Label label, String imageName){
-        pane.setStyle("-fx-background-color: none; -fx-background-radius: 20; " +
-                "-fx-border-style: solid; -fx-border-color: white; -fx-border-width: 3; -fx-border-radius: 20");
+        pane.pseudoClassStateChanged(HOVERED, false);
 
-        Image newImage = new Image(ControlScene.class.getResourceAsStream("/"+imageName));
-        image.setImage(newImage);
+        image.setImage(ImageCache.get(imageName));
 
         label.setTextFill(Color.rgb(230,187,154));
     }
@@ -122,7 +126,7 @@ public class ControlScene {
      * @param pane pane to change the style of
      */
     public static void menuPaneHovered(Pane pane){
-        pane.setStyle("-fx-background-color: white;");
+        pane.pseudoClassStateChanged(HOVERED, true);
     }
 
     /**
@@ -132,82 +136,29 @@ public class ControlScene {
      * @param pane pane to change the style of
      */
     public static void menuPaneExited(Pane pane){
-        pane.setStyle("-fx-background-color: none");
+        pane.pseudoClassStateChanged(HOVERED, false);
     }
 
     /**
-     * Changes the styling of a text field if the input cannot be accepted.
+     * Changes the styling of a text field, combo box or text area if the input
+     * cannot be accepted.
      * Used when user adds/edits something in a popup and the value is unacceptable.
      *
      * @param problematicField field to highlight as wrong
      */
-    public static void highlightWrongField(TextField problematicField){
-        problematicField.setStyle("-fx-background-color: none; -fx-text-fill: white; " +
-                "-fx-border-style: solid; -fx-border-color: #C75450; -fx-border-radius: 10;" +
-                "-fx-border-width: 3");
-    }
-
-    /**
-     * Changes the styling of a combo box if the input cannot be accepted.
-     * Used when user adds/edits something in a popup and the value is unacceptable.
-     *
-     * @param problematicComboBox combo box to highlight as wrong
-     */
-    public static void highlightWrongField(ComboBox problematicComboBox){
-        problematicComboBox.setStyle("-fx-background-color: none; -fx-text-fill: white; " +
-                "-fx-border-style: solid; -fx-border-color: #C75450; -fx-border-radius: 10;" +
-                "-fx-border-width: 3");
-    }
-
-    /**
-     * Changes the styling of a text area if the input cannot be accepted.
-     * Used when user adds/edits something in a popup and the value is unacceptable.
-     *
-     * @param problematicTextArea text area to highlight as wrong
-     */
-    public static void highlightWrongField(TextArea problematicTextArea){
-        problematicTextArea.setStyle("-fx-background-color: none; -fx-text-fill: white; " +
-                "-fx-border-style: solid; -fx-border-color: #C75450; -fx-border-radius: 10;" +
-                "-fx-border-width: 3; -fx-wrap-text: true");
-    }
-
-    /**
-     * Method which reverts the styling of a text field back to normal, after a
-     * wrong input was received.
-     * Used when user adds/edits something in a popup and the value is unacceptable.
-     *
-     * @param problematicField text field to un-highlight
-     */
-    public static void normaliseWrongField(TextField problematicField){
-        problematicField.setStyle("-fx-background-color: none; -fx-text-fill: white; " +
-                "-fx-border-style: solid; -fx-border-color: white; -fx-border-radius: 10;" +
-                "-fx-border-width: 3");
+    public static void highlightWrongField(Control problematicField){
+        problematicField.pseudoClassStateChanged(INVALID, true);
     }
 
     /**
-     * Method which reverts the styling of a combo box back to normal, after a
-     * wrong input was received.
+     * Method which reverts the styling of a text field, combo box or text area
+     * back to normal, after a wrong input was received.
      * Used when user adds/edits something in a popup and the value is unacceptable.
      *
-     * @param problematicComboBox combo box to un-highlight
+     * @param problematicField field to un-highlight
      */
-    public static void normaliseWrongField(ComboBox problematicComboBox){
-        problematicComboBox.setStyle("-fx-background-color: none; -fx-text-fill: white; " +
-                "-fx-border-style: solid; -fx-border-color: white; -fx-border-radius: 10;" +
-                "-fx-border-width: 3");
-    }
-
-    /**
-     * Method which reverts the styling of a text area back to normal, after a
-     * wrong input was received.
-     * Used when user adds/edits something in a popup and the value is unacceptable.
-     *
-     * @param problematicTextArea text area to un-highlight
-     */
-    public static void normaliseWrongField(TextArea problematicTextArea){
-        problematicTextArea.setStyle("-fx-background-color: none; -fx-text-fill: white; " +
-                "-fx-border-style: solid; -fx-border-color: white; -fx-border-radius: 10;" +
-                "-fx-border-width: 3; -fx-wrap-text: true");
+    public static void normaliseWrongField(Control problematicField){
+        problematicField.pseudoClassStateChanged(INVALID, false);
     }
 
     /**
@@ -216,18 +167,18 @@ public class ControlScene {
      */
     public static void setupComboBoxStyle(ComboBox comboBox){
         comboBox.setButtonCell(new ListCell(){
+            {
+                getStyleClass().add("form-cell");
+                setFont(new Font("Arial", 16.0));
+            }
+
             @Override
             protected void updateItem(Object item, boolean empty) {
                 super.updateItem(item, empty);
-                setFont(new Font("Arial", 16.0));
                 // If nothing selected, styles like the prompt
-                if(empty || item==null)
-                    setStyle("-fx-text-fill: derive(-fx-control-inner-background,-30%)");
-                    // If something selected, styles accordingly
-                else {
-                    setStyle("-fx-text-fill: white");
-                    setText(item.toString());
-                }
+                pseudoClassStateChanged(PROMPT, empty || item==null);
+                // If something selected, shows it
+                if(!empty && item!=null) setText(item.toString());
             }
         });
     }
@@ -0,0 +1,171 @@
+package controllers.utilities;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Diagnostic which times the CSS passes of a view, by default the Marks view.
+ * The view is parsed without its controller, like Warmup does, so no database is needed.
+ * Needs a display, as JavaFX has to be started.
+ *
+ * Times three passes, each repeated the given number of times:
+ * - the first CSS pass of a newly parsed view;
+ * - hovering and highlighting its elements through inline styles, as ControlScene used to;
+ * - hovering and highlighting its elements through pseudo-class states, as ControlScene does.
+ *
+ * Usage: CssBenchmark [view] [runs], e.g. CssBenchmark MarksView.fxml 200
+ */
+public class CssBenchmark extends Application {
+    private final static String DEFAULT_VIEW = "MarksView.fxml";
+    private final static int DEFAULT_RUNS = 200;
+    // Runs which aren't timed, so the classes and stylesheets are loaded first
+    private final static int WARMUP_RUNS = 20;
+
+    // Elements styled when hovered and when their input is wrong
+    private final static String HOVERED_ELEMENTS = ".menu-pane, .action-button, .navigation-button, .form-button";
+    private final static String INVALID_ELEMENTS = ".form-field";
+    // Inline styles ControlScene used to set instead of the states
+    private final static String HOVERED_STYLE = "-fx-background-color: white; -fx-background-radius: 20";
+    private final static String EXITED_STYLE = "-fx-background-color: none; -fx-background-radius: 20; " +
+            "-fx-border-style: solid; -fx-border-color: white; -fx-border-width: 3; -fx-border-radius: 20";
+    private final static String INVALID_STYLE = "-fx-background-color: none; -fx-text-fill: white; " +
+            "-fx-border-style: solid; -fx-border-color: #C75450; -fx-border-radius: 10;-fx-border-width: 3";
+    private final static String VALID_STYLE = "-fx-background-color: none; -fx-text-fill: white; " +
+            "-fx-border-style: solid; -fx-border-color: white; -fx-border-radius: 10;-fx-border-width: 3";
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args name of the fxml of the view and the number of runs, both optional
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        List<String> args = getParameters().getRaw();
+        String view = args.size() > 0 ? args.get(0) : DEFAULT_VIEW;
+        int runs = args.size() > 1 ? Integer.parseInt(args.get(1)) : DEFAULT_RUNS;
+
+        try {
+            System.out.println("CSS passes of " + view + " over " + runs + " runs:");
+            System.out.println("first pass:     " + format(timeFirstPass(view, runs)));
+
+            Parent root = Warmup.parse(view);
+            new Scene(root).getRoot().applyCss();
+            Set<Node> hovered = root.lookupAll(HOVERED_ELEMENTS);
+            Set<Node> invalid = root.lookupAll(INVALID_ELEMENTS);
+            System.out.println("(" + hovered.size() + " hovered and " + invalid.size() + " highlighted elements)");
+            System.out.println("inline styles:  " + format(timeInlineStyles(root, hovered, invalid, runs)));
+            System.out.println("pseudo-classes: " + format(timePseudoClasses(root, hovered, invalid, runs)));
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Times the first CSS pass of newly parsed copies of the view.
+     *
+     * @param view name of the fxml of the view
+     * @param runs number of timed runs
+     * @return time of every run in ns
+     * @throws Exception if the view could not be parsed
+     */
+    private static long[] timeFirstPass(String view, int runs) throws Exception {
+        long[] times = new long[runs];
+        for(int i = -WARMUP_RUNS; i < runs; i++){
+            // Only the CSS pass is timed, not the parsing
+            Parent root = Warmup.parse(view);
+            Scene scene = new Scene(root);
+            long start = System.nanoTime();
+            scene.getRoot().applyCss();
+            if(i >= 0) times[i] = System.nanoTime() - start;
+        }
+        return times;
+    }
+
+    /**
+     * Times styling the elements as hovered and wrong and back through inline styles.
+     *
+     * @param root root of the styled view
+     * @param hovered elements styled when hovered
+     * @param invalid elements styled when their input is wrong
+     * @param runs number of timed runs
+     * @return time of every run in ns
+     */
+    private static long[] timeInlineStyles(Parent root, Set<Node> hovered, Set<Node> invalid, int runs) {
+        long[] times = new long[runs];
+        for(int i = -WARMUP_RUNS; i < runs; i++){
+            long start = System.nanoTime();
+            for(Node node : hovered) node.setStyle(HOVERED_STYLE);
+            for(Node node : invalid) node.setStyle(INVALID_STYLE);
+            root.applyCss();
+            for(Node node : hovered) node.setStyle(EXITED_STYLE);
+            for(Node node : invalid) node.setStyle(VALID_STYLE);
+            root.applyCss();
+            if(i >= 0) times[i] = System.nanoTime() - start;
+        }
+        // Leaves the view as it was
+        for(Node node : hovered) node.setStyle("");
+        for(Node node : invalid) node.setStyle("");
+        root.applyCss();
+        return times;
+    }
+
+    /**
+     * Times styling the elements as hovered and wrong and back through pseudo-class states.
+     *
+     * @param root root of the styled view
+     * @param hovered elements styled when hovered
+     * @param invalid elements styled when their input is wrong
+     * @param runs number of timed runs
+     * @return time of every run in ns
+     */
+    private static long[] timePseudoClasses(Parent root, Set<Node> hovered, Set<Node> invalid, int runs) {
+        long[] times = new long[runs];
+        for(int i = -WARMUP_RUNS; i < runs; i++){
+            long start = System.nanoTime();
+            for(Node node : hovered) node.pseudoClassStateChanged(ControlScene.HOVERED, true);
+            for(Node node : invalid) node.pseudoClassStateChanged(ControlScene.INVALID, true);
+            root.applyCss();
+            for(Node node : hovered) node.pseudoClassStateChanged(ControlScene.HOVERED, false);
+            for(Node node : invalid) node.pseudoClassStateChanged(ControlScene.INVALID, false);
+            root.applyCss();
+            if(i >= 0) times[i] = System.nanoTime() - start;
+        }
+        return times;
+    }
+
+    /**
+     * Formats the times of the runs.
+     *
+     * @param times time of every run in ns
+     * @return mean, median and slowest time in ms
+     */
+    private static String format(long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for(long time : sorted) total += time;
+        return String.format("mean %.3f ms, median %.3f ms, max %.3f ms",
+                total / 1e6 / sorted.length, sorted[sorted.length / 2] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+}
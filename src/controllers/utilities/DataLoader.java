@@ -0,0 +1,176 @@
+package controllers.utilities;
+
+import database.Database;
+import javafx.concurrent.Task;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which loads data for the scenes in the background, so the window
+ * doesn't freeze whilst the database is queried. Every load runs on a read
+ * connection and its result is applied on the JavaFX Application Thread.
+ *
+ * Loads which weren't applied yet are cancelled when the scene changes or
+ * when the same data is requested again, so stale results are never shown.
+ * How long every load took is logged and kept per load name.
+ */
+public class DataLoader {
+    // Text shown in place of the data, which is still loading
+    public final static String PLACEHOLDER = "...";
+
+    // One thread per read connection, so loads don't wait for each other's connections
+    private final static AtomicInteger threadNumber = new AtomicInteger();
+    private final static ExecutorService executor = Executors.newFixedThreadPool(Database.getReadConnections(), runnable -> {
+        Thread thread = new Thread(runnable, "organised-loader-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Loads which weren't applied yet, by name
+    private final static Map<String, Task<?>> pending = new ConcurrentHashMap<>();
+    // Latencies of the applied loads, by name
+    private final static Map<String, Latency> latencies = new LinkedHashMap<>();
+
+    /**
+     * Loads data in the background and applies it on the JavaFX Application Thread.
+     * Cancels the previous load with the same name, if it wasn't applied yet.
+     *
+     * @param name name of the load, used for cancelling and in the statistics
+     * @param query loads the data, runs in the background
+     * @param apply applies the loaded data to the scene, runs on the JavaFX Application Thread
+     * @param <T> type of the data
+     * @return task which loads the data
+     */
+    public static <T> Task<T> load(String name, Callable<T> query, Consumer<T> apply) {
+        long requested = System.nanoTime();
+        long[] queryNanos = new long[1];
+
+        Task<T> task = new Task<T>() {
+            @Override
+            protected T call() throws Exception {
+                long start = System.nanoTime();
+                // All queries of the load run on the same read connection
+                Database.borrowReadConnection();
+                try {
+                    return query.call();
+                } finally {
+                    Database.releaseReadConnection();
+                    queryNanos[0] = System.nanoTime() - start;
+                }
+            }
+        };
+
+        // Applies the data unless the load was cancelled in the meantime
+        task.setOnSucceeded(event -> {
+            pending.remove(name, task);
+            apply.accept(task.getValue());
+            record(name, System.nanoTime() - requested, queryNanos[0]);
+        });
+        task.setOnFailed(event -> {
+            pending.remove(name, task);
+            System.out.println("Exception whilst loading " + name + ".");
+            task.getException().printStackTrace();
+        });
+
+        // Cancels the previous load of the same data
+        Task<?> previous = pending.put(name, task);
+        if(previous != null) previous.cancel();
+
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancels the load with the given name, if it wasn't applied yet.
+     *
+     * @param name name of the load
+     */
+    public static void cancel(String name) {
+        Task<?> task = pending.remove(name);
+        if(task != null) task.cancel();
+    }
+
+    /**
+     * Cancels all loads, which weren't applied yet. Used when the scene changes.
+     */
+    public static void cancelAll() {
+        for(Task<?> task : pending.values()){
+            task.cancel();
+        }
+        pending.clear();
+    }
+
+    /**
+     * Cancels all loads and stops the background threads. Used when the application exits.
+     */
+    public static void shutdown() {
+        cancelAll();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Keeps and logs the latency of an applied load.
+     *
+     * @param name name of the load
+     * @param totalNanos time from the request until the data was applied
+     * @param queryNanos time spent querying the database
+     */
+    private static synchronized void record(String name, long totalNanos, long queryNanos) {
+        latencies.computeIfAbsent(name, key -> new Latency()).add(totalNanos);
+        System.out.printf("%s loaded in %.1f ms (queries %.1f ms)%n", name, totalNanos / 1e6, queryNanos / 1e6);
+    }
+
+    /**
+     * Returns the latencies of all loads.
+     *
+     * @return statistics, one line per load name
+     */
+    public static synchronized String getStatistics() {
+        StringBuilder statistics = new StringBuilder();
+        for(Map.Entry<String, Latency> entry : latencies.entrySet()){
+            if(statistics.length() > 0) statistics.append(System.lineSeparator());
+            statistics.append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return statistics.toString();
+    }
+
+    /**
+     * Latencies of the loads with the same name.
+     */
+    private static class Latency {
+        private long count = 0;
+        private long totalNanos = 0;
+        private long maxNanos = 0;
+
+        /**
+         * Adds the latency of a load.
+         *
+         * @param nanos time from the request until the data was applied
+         */
+        private void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("loads: %d, average: %.1f ms, max: %.1f ms",
+                    count, totalNanos / 1e6 / count, maxNanos / 1e6);
+        }
+    }
+}
@@ -273,12 +273,27 @@ public abstract class DefaultNavigation extends DefaultButtons{
         try {
             SetupScene.changeScene("LoginPageView.fxml", signOutPane);
             User.signOutUser();
+            // Kept scenes show the data of the signed out user
+            SetupScene.clearCache();
 
         } catch (IOException e) {
             System.out.println("Exception whilst changing scene to Login by Menu.");
         }
     }
 
+    /**
+     * Changes all menu panes and the go back button back to default.
+     * Used when a kept scene is shown again, as the pane which was clicked
+     * to leave it was never exited.
+     */
+    public void resetMenu(){
+        for(Pane pane : new Pane[]{profilePane, marksPane, timePane, schedulePane,
+                tasksPane, settingsPane, aboutPane, signOutPane}){
+            if(pane != null) ControlScene.menuPaneExited(pane);
+        }
+        if(goBackButton != null) goBackExited();
+    }
+
     // Methods goBack button
     /**
      * Method which changes the colour of go back button when hovered.
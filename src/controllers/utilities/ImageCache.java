@@ -0,0 +1,189 @@
+package controllers.utilities;
+
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.JavaFXBuilderFactory;
+import javafx.scene.image.Image;
+import javafx.util.Builder;
+import javafx.util.BuilderFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which keeps every decoded image, so changing the images on hover and
+ * loading the views doesn't decode the same image again.
+ *
+ * Images are kept by their resource name, e.g. "add_icon.png". Images of the
+ * fxml files are taken from here too, when the fxml is loaded with loader().
+ */
+public class ImageCache {
+    // Decoded images by resource name
+    private final static Map<String, Image> images = new ConcurrentHashMap<>();
+    private final static AtomicInteger hits = new AtomicInteger();
+
+    // Builds the images of the fxml files from the kept images, everything else as usual
+    private final static BuilderFactory BUILDER_FACTORY = new BuilderFactory() {
+        private final JavaFXBuilderFactory defaultFactory = new JavaFXBuilderFactory();
+
+        @Override
+        public Builder<?> getBuilder(Class<?> type) {
+            if(type == Image.class) return new ImageBuilder();
+            return defaultFactory.getBuilder(type);
+        }
+    };
+
+    /**
+     * Returns the image with the given resource name, decoding it only the first time.
+     *
+     * @param imageName name of the image
+     * @return decoded image
+     */
+    public static Image get(String imageName) {
+        Image image = images.get(imageName);
+        if(image != null){
+            hits.incrementAndGet();
+            return image;
+        }
+        // Other threads asking for the same image wait until it is decoded
+        return images.computeIfAbsent(imageName, ImageCache::decode);
+    }
+
+    /**
+     * Creates a loader for the fxml, which takes its images from the kept images.
+     *
+     * @param location url of the fxml
+     * @return fxml loader
+     */
+    public static FXMLLoader loader(URL location) {
+        FXMLLoader loader = new FXMLLoader(location);
+        loader.setBuilderFactory(BUILDER_FACTORY);
+        return loader;
+    }
+
+    /**
+     * Decodes all images of the application, which aren't decoded yet.
+     * Runs in the background during startup.
+     *
+     * @return number of images decoded
+     */
+    public static int preload() {
+        int decoded = 0;
+        for(String imageName : listImages()){
+            if(images.containsKey(imageName)) continue;
+            images.computeIfAbsent(imageName, ImageCache::decode);
+            decoded++;
+        }
+        return decoded;
+    }
+
+    /**
+     * Returns how many images are kept and how many times they were reused.
+     *
+     * @return statistics on one line
+     */
+    public static String getStatistics() {
+        return "Image cache: images: " + images.size() + ", hits: " + hits.get();
+    }
+
+    /**
+     * Decodes the image with the given resource name.
+     *
+     * @param imageName name of the image
+     * @return decoded image
+     */
+    private static Image decode(String imageName) {
+        try (InputStream in = ImageCache.class.getResourceAsStream("/" + imageName)) {
+            if(in == null) throw new IllegalArgumentException("Image " + imageName + " could not be found.");
+            return new Image(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Image " + imageName + " could not be read.", e);
+        }
+    }
+
+    /**
+     * Lists the png images next to the application icon, in the jar or in the directory.
+     *
+     * @return names of the images
+     */
+    private static List<String> listImages() {
+        List<String> imageNames = new ArrayList<>();
+        URL icon = ImageCache.class.getResource("/icon.png");
+        if(icon == null) return imageNames;
+
+        try {
+            if(icon.getProtocol().equals("jar")){
+                // Images are at the root of the jar
+                JarFile jar = ((JarURLConnection) icon.openConnection()).getJarFile();
+                Enumeration<JarEntry> entries = jar.entries();
+                while(entries.hasMoreElements()){
+                    String name = entries.nextElement().getName();
+                    if(name.endsWith(".png") && !name.contains("/")) imageNames.add(name);
+                }
+            }
+            else if(icon.getProtocol().equals("file")){
+                File[] files = new File(icon.toURI()).getParentFile().listFiles((dir, name) -> name.endsWith(".png"));
+                if(files != null) for(File file : files) imageNames.add(file.getName());
+            }
+        } catch (IOException | URISyntaxException e) {
+            e.printStackTrace();
+        }
+        return imageNames;
+    }
+
+    /**
+     * Builds the images of the fxml files. Images with only an url are taken from
+     * the kept images, others are built by the default builder.
+     */
+    private static class ImageBuilder extends AbstractMap<String, Object> implements Builder<Image> {
+        private final Map<String, Object> properties = new HashMap<>();
+
+        @Override
+        public Object put(String key, Object value) {
+            return properties.put(key, value);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return properties.entrySet();
+        }
+
+        @Override
+        public Image build() {
+            Object url = properties.get("url");
+            if(properties.size() == 1 && url != null){
+                // Images are kept by their resource name, the last part of the url
+                String path = url.toString();
+                return ImageCache.get(path.substring(path.lastIndexOf('/') + 1));
+            }
+
+            // Sizes or background loading were given, so the image is built as usual
+            Builder<?> builder = new JavaFXBuilderFactory().getBuilder(Image.class);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> builderProperties = (Map<String, Object>) builder;
+            builderProperties.putAll(properties);
+            return (Image) builder.build();
+        }
+    }
+}
@@ -8,7 +8,6 @@ import javafx.fxml.FXML;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
@@ -54,9 +53,7 @@ public abstract class MarksDefaultPopup extends DefaultButtons{
         // Sets up the action button
         actionButtonLabel.setText(sceneType.toString());
 
-        Image newImage = new Image(MarksDefaultPopup.class.getResourceAsStream
-                ("/"+sceneType.toString().toLowerCase() + "_icon.png"));
-        actionButtonImage.setImage(newImage);
+        actionButtonImage.setImage(ImageCache.get(sceneType.toString().toLowerCase() + "_icon.png"));
 
         // Hides delete button if needed
         if(sceneType == PopupType.ADD) deleteButton.setVisible(false);
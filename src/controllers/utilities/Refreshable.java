@@ -0,0 +1,20 @@
+package controllers.utilities;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Interface for controllers whose scenes are kept by SetupScene and shown
+ * again instead of being loaded from the fxml every time.
+ */
+public interface Refreshable {
+    /**
+     * Sets the scene up with the current data of the user.
+     * Called when the kept scene is shown again.
+     */
+    void refresh();
+}
@@ -9,6 +9,8 @@ import javafx.scene.control.Label;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -21,33 +23,109 @@ import java.util.Objects;
  *
  * Class which has helper methods used to setup scenes. Methods here
  * are used in more than one controller/scene.
+ *
+ * Scenes whose controllers are Refreshable are kept once loaded, so switching
+ * between the tabs doesn't parse the fxml again. The least recently shown
+ * scene is dropped once more than SCENE_CACHE_SIZE scenes are kept.
+ * How long every scene change took is logged and kept per scene.
  */
 public class SetupScene {
+    // Number of kept scenes, can be changed with -Dorganised.sceneCache=N, 0 turns keeping off
+    private final static int SCENE_CACHE_SIZE = Integer.getInteger("organised.sceneCache", 7);
+
+    // Kept scenes by the name of their fxml, the least recently shown first
+    private final static Map<String, CachedScene> sceneCache = new LinkedHashMap<String, CachedScene>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedScene> eldest) {
+            if(size() <= SCENE_CACHE_SIZE) return false;
+            evictions++;
+            return true;
+        }
+    };
+    private static int evictions = 0;
+    // Latencies of the scene changes, by the name of the fxml
+    private final static Map<String, SwitchLatency> latencies = new LinkedHashMap<>();
 
     /**
      * Method which takes a path to a new scene fxml and a node from a current scene
      * and updates the stage with the specified scene.
+     * Shows the kept scene, refreshed with current data, if there is one.
      *
      * @param viewName name of the fxml of the new scene
      * @param node node from a scene, to get the stage
      * @throws IOException if fxml file could not be found
      */
     public static void changeScene(String viewName, Node node) throws IOException {
-        // Loads new scene
-        Parent root= FXMLLoader.load(SetupScene.class.getResource("/"+viewName));
-                // FXMLLoader.load(new File(path).toURI().toURL());
+        long start = System.nanoTime();
+
+        // Stops loading data for the current scene
+        DataLoader.cancelAll();
+
+        Scene newScene;
+        CachedScene cached = sceneCache.get(viewName);
+        if(cached != null){
+            // Reuses the kept scene, clearing the effects left from when it was last shown
+            newScene = cached.scene;
+            if(cached.controller instanceof DefaultNavigation) ((DefaultNavigation) cached.controller).resetMenu();
+            cached.controller.refresh();
+        }
+        else{
+            // Loads new scene
+            FXMLLoader loader = ImageCache.loader(SetupScene.class.getResource("/"+viewName));
+            Parent root = loader.load();
+
+            // Creates new scene and sets it's size
+            newScene = new Scene(root, 1400, 900);
 
-        // Creates new scene and sets it's size
-        Scene newScene = new Scene(root, 1400, 900);
+            // Keeps the scene if it can be refreshed when shown again
+            Object controller = loader.getController();
+            if(SCENE_CACHE_SIZE > 0 && controller instanceof Refreshable)
+                sceneCache.put(viewName, new CachedScene(newScene, (Refreshable) controller));
+        }
 
         // Gets the current stage
         Stage currentStage = (Stage) node.getScene().getWindow();
 
         // Focuses away from the fields for prompt text to be visible
-        root.requestFocus();
+        newScene.getRoot().requestFocus();
 
         // Sets the scene
         currentStage.setScene(newScene);
+
+        record(viewName, cached != null, System.nanoTime() - start);
+    }
+
+    /**
+     * Drops all kept scenes. Used when the user signs out, as the scenes show their data.
+     */
+    public static void clearCache() {
+        sceneCache.clear();
+    }
+
+    /**
+     * Keeps and logs the latency of a scene change.
+     *
+     * @param viewName name of the fxml of the scene
+     * @param reused true if the kept scene was shown, false if it was loaded
+     * @param nanos time the scene change took
+     */
+    private static void record(String viewName, boolean reused, long nanos) {
+        latencies.computeIfAbsent(viewName, key -> new SwitchLatency()).add(reused, nanos);
+        System.out.printf("Changed scene to %s in %.1f ms (%s)%n", viewName, nanos / 1e6, reused ? "kept" : "loaded");
+    }
+
+    /**
+     * Returns the latencies of the scene changes and how the kept scenes were used.
+     *
+     * @return statistics, one line per scene
+     */
+    public static String getStatistics() {
+        StringBuilder statistics = new StringBuilder("Scene cache: kept: " + sceneCache.size() +
+                ", evictions: " + evictions);
+        for(Map.Entry<String, SwitchLatency> entry : latencies.entrySet()){
+            statistics.append(System.lineSeparator()).append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return statistics.toString();
     }
     /**
      * Sets up the welcome messages in login and register scenes.
@@ -80,4 +158,57 @@ public class SetupScene {
                 break;
         }
     }
+
+    /**
+     * Scene kept together with its controller.
+     */
+    private static class CachedScene {
+        private final Scene scene;
+        private final Refreshable controller;
+
+        /**
+         * Constructor for CachedScene.
+         *
+         * @param scene loaded scene
+         * @param controller controller of the scene
+         */
+        private CachedScene(Scene scene, Refreshable controller) {
+            this.scene = scene;
+            this.controller = controller;
+        }
+    }
+
+    /**
+     * Latencies of the changes to the same scene.
+     */
+    private static class SwitchLatency {
+        private long loads = 0;
+        private long loadNanos = 0;
+        private long reuses = 0;
+        private long reuseNanos = 0;
+
+        /**
+         * Adds the latency of a scene change.
+         *
+         * @param reused true if the kept scene was shown, false if it was loaded
+         * @param nanos time the scene change took
+         */
+        private void add(boolean reused, long nanos) {
+            if(reused){
+                reuses++;
+                reuseNanos += nanos;
+            }
+            else{
+                loads++;
+                loadNanos += nanos;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("loaded: %d, average: %.1f ms, kept: %d, average: %.1f ms",
+                    loads, loads == 0 ? 0 : loadNanos / 1e6 / loads,
+                    reuses, reuses == 0 ? 0 : reuseNanos / 1e6 / reuses);
+        }
+    }
 }
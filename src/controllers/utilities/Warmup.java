@@ -0,0 +1,171 @@
+package controllers.utilities;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which warms up the views once the first scene is shown, so the first
+ * change to every other scene doesn't pay for loading its classes, images,
+ * fonts and stylesheets.
+ *
+ * All images are decoded into ImageCache first. The views are then parsed on
+ * a background thread without their controllers and event handlers, as those
+ * need the data of the logged in user. The parsed
+ * views are then styled on the JavaFX Application Thread one at a time, as
+ * stylesheets can only be applied to scenes there. The parsed views are thrown
+ * away afterwards. Every step of the startup is logged in ms from the start of the JVM.
+ */
+public class Warmup {
+    // Whether the views are warmed up, can be turned off with -Dorganised.warmup=false
+    private final static boolean ENABLED = Boolean.parseBoolean(System.getProperty("organised.warmup", "true"));
+    // Views in the order they are warmed up, the tabs of the side menu first
+    private final static String[] VIEWS = {
+            "ProfileView.fxml", "MarksView.fxml", "TimeView.fxml", "ScheduleView.fxml", "TasksView.fxml",
+            "SettingsView.fxml", "AboutView.fxml",
+            "TimePeriodView.fxml", "SchedulePeriodView.fxml", "TasksPeriodView.fxml",
+            "MarksPopupViewYear.fxml", "MarksPopupViewModule.fxml", "MarksPopupViewAssignment.fxml",
+            "TimePopupViewPeriod.fxml", "TimeDeletePeriodAlertView.fxml",
+            "SchedulePopupViewEvent.fxml", "SchedulePopupViewRecurringEvent.fxml",
+            "TasksPopupViewTask.fxml", "TasksPopupViewRecurringTask.fxml", "ModuleInformationPopupView.fxml",
+            "LoginPageView.fxml", "RegisterPageView.fxml"
+    };
+    // Parts of the fxml which need a controller
+    private final static Pattern CONTROLLER = Pattern.compile("\\s+fx:controller=\"([^\"]*)\"");
+    private final static Pattern HANDLERS = Pattern.compile("\\s+on[A-Z]\\w*=\"#[^\"]*\"");
+
+    // Steps of the startup in ms from the start of the JVM, by name
+    private final static Map<String, Long> timeline = new LinkedHashMap<>();
+    private final static long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    /**
+     * Logs a step of the startup.
+     *
+     * @param step name of the step
+     */
+    public static synchronized void mark(String step) {
+        long millis = System.currentTimeMillis() - JVM_START;
+        timeline.put(step, millis);
+        System.out.println("Startup: " + step + " at " + millis + " ms");
+    }
+
+    /**
+     * Waits for the first frame of the shown scene and warms up all other views.
+     * Called once the main stage is shown.
+     *
+     * @param shownView name of the fxml of the shown scene, which isn't warmed up
+     */
+    public static void start(String shownView) {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                // Only the first frame is needed
+                stop();
+                mark("first frame");
+
+                if(!ENABLED) return;
+                Thread thread = new Thread(() -> warmViews(shownView), "organised-warmup");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }.start();
+    }
+
+    /**
+     * Decodes all images, parses all views apart from the shown one and styles them
+     * on the JavaFX Application Thread. Runs in the background.
+     *
+     * @param shownView name of the fxml of the shown scene
+     */
+    private static void warmViews(String shownView) {
+        mark("images decoded (" + ImageCache.preload() + " images)");
+
+        int views = 0;
+        for(String view : VIEWS){
+            if(view.equals(shownView)) continue;
+            try {
+                Parent root = parse(view);
+                views++;
+                // Parses and applies the stylesheets of the view
+                Platform.runLater(() -> new Scene(root).getRoot().applyCss());
+            } catch (IOException | ClassNotFoundException e) {
+                System.out.println("Exception whilst warming up " + view + ".");
+                e.printStackTrace();
+            }
+        }
+
+        // Runs after all views were styled
+        int warmedViews = views;
+        Platform.runLater(() -> {
+            mark("fully warm (" + warmedViews + " views)");
+            System.out.println(getTimeline());
+        });
+    }
+
+    /**
+     * Parses the view without its controller and event handlers. Loads the class
+     * of the controller, so it is ready once the view is loaded with it.
+     *
+     * @param view name of the fxml of the view
+     * @return root of the parsed view
+     * @throws IOException if fxml file could not be read
+     * @throws ClassNotFoundException if controller class could not be found
+     */
+    static Parent parse(String view) throws IOException, ClassNotFoundException {
+        URL location = Warmup.class.getResource("/" + view);
+        if(location == null) throw new IOException("View " + view + " could not be found.");
+
+        // Reads the fxml
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = location.openStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while((read = in.read(buffer)) != -1) bytes.write(buffer, 0, read);
+        }
+        String fxml = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+
+        // Loads the controller class and removes everything which would need its instance
+        Matcher controller = CONTROLLER.matcher(fxml);
+        if(controller.find()) Class.forName(controller.group(1));
+        fxml = HANDLERS.matcher(controller.replaceAll("")).replaceAll("");
+
+        // Location resolves the images and stylesheets of the view
+        FXMLLoader loader = ImageCache.loader(location);
+        return loader.load(new ByteArrayInputStream(fxml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns all logged steps of the startup.
+     *
+     * @return steps in ms from the start of the JVM, on one line
+     */
+    public static synchronized String getTimeline() {
+        StringBuilder steps = new StringBuilder("Startup timeline:");
+        for(Map.Entry<String, Long> step : timeline.entrySet()){
+            steps.append(" ").append(step.getKey()).append(" ").append(step.getValue()).append(" ms,");
+        }
+        steps.setLength(steps.length() - 1);
+        return steps.toString();
+    }
+}
@@ -18,7 +18,7 @@ import java.util.Objects;
  * Class to represent an Assignment in the application.
  */
 public class Assignment {
-    private final int id;
+    private int id;
     private final int userId;
     private final String moduleCode;
     private String fullName;
@@ -34,6 +34,14 @@ public class Assignment {
         return id;
     }
 
+    /**
+     * Setter for assignment id, used once the assignment is added to the database.
+     * @param id id to set
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Getter for assignment module code
      * @return module code of the assignment
@@ -197,6 +205,8 @@ public class Assignment {
                 }
             }
         }
+        // Grades of the assignment and above it changed
+        GradeTree.changed(this);
     }
 
     /**
@@ -7,6 +7,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
@@ -26,12 +27,15 @@ import java.util.Objects;
  * Class to represent a Day in the system.
  */
 public class Day {
-    private final int id;
+    private int id;
     private final int userId;
     private final int weekId;
     private final LocalDate date;
     private int hoursSpent;
 
+    // Days looked up by id
+    static final IdentityMap<Day> identityMap = new IdentityMap<>("Day", 512);
+
     public static final int MAX_WORK_HOURS = 12;
 
     /**
@@ -42,6 +46,14 @@ public class Day {
         return id;
     }
 
+    /**
+     * Getter for the id of the week the day belongs to.
+     * @return id of the week
+     */
+    public int getWeekId() {
+        return weekId;
+    }
+
     /**
      * Getter for the Date variable.
      * @return date of the day
@@ -118,7 +130,8 @@ public class Day {
         this.userId = userId;
         this.weekId = weekId;
         this.date = LocalDate.parse(date);  // Converts string to a date
-        this.hoursSpent = hoursSpent;
+        // Hours, which weren't written to the database yet, replace the stored ones
+        this.hoursSpent = TimeJournal.getDayHours(id, hoursSpent);
     }
 
     /**
@@ -128,11 +141,15 @@ public class Day {
      * @param id id of the day
      */
     public static Day dayFromId(int id){
+        // Returns the day if it was already looked up
+        Day cached = identityMap.get(id);
+        if(cached != null) return cached;
+
         // Creates empty day object
         Day newDay = null;
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -174,6 +191,9 @@ public class Day {
             }
         }
 
+        // Keeps the day for the following lookups
+        identityMap.put(id, newDay);
+
         // Returns the day
         return newDay;
     }
@@ -228,19 +248,22 @@ public class Day {
 
     /**
      * Method which adds a Day to the database
+     *
+     * @return id of the added day, 0 if it could not be added
      */
-    protected void addDay(){
+    protected int addDay(){
         // Checks if day is not in the database
         if(id == 0){
             // Gets Database connection
             Connection connection = Database.getConnection();
             PreparedStatement pStatement = null;
+            ResultSet rs = null;
 
             // Sets up the query
             String query = "INSERT INTO Day VALUES(null,?,?,?,?);";
             try {
                 // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
+                pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
                 pStatement.setInt(1, userId);
                 pStatement.setInt(2, weekId);
                 pStatement.setString(3, date.toString());
@@ -248,6 +271,10 @@ public class Day {
 
                 pStatement.executeUpdate();
 
+                // Gets the id of the added day
+                rs = pStatement.getGeneratedKeys();
+                if(rs.next()) this.id = rs.getInt(1);
+
             } catch (SQLException e) {
                 e.printStackTrace();
             } finally {
@@ -259,83 +286,90 @@ public class Day {
                         e.printStackTrace();
                     }
                 }
+                if (rs != null) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
+        return id;
     }
 
     /**
-     * Method which deletes a Day from the system.
+     * Method which adds a list of new Days to the database in a single batch.
      *
-     * @return true if successful, false otherwise
+     * @param days days to add
+     * @throws SQLException if the days could not be added
      */
-    public boolean deleteDay(){
-        // Day doesn't exist in the database
-        if(this.getId() == 0) return true;
-
-        // Deletes all events of the day
-        int eventCounter = 0;
-        List<Event> events = this.getAllEvents();
-        for(Event event : events){
-            if(event.deleteEvent()) eventCounter++;
-        }
-
-        // If event deletion was successful, deletes the day
-        int rowsAffected = 0;
-        if(eventCounter == events.size()){
-            // Gets Database connection
-            Connection connection = Database.getConnection();
-            PreparedStatement pStatement = null;
+    protected static void addDays(List<Day> days) throws SQLException {
+        // Gets Database connection
+        Connection connection = Database.getConnection();
+        PreparedStatement pStatement = null;
 
-            // Sets up the query
-            String query = "DELETE FROM Day WHERE id = ?;";
-            try {
-                // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
-                pStatement.setInt(1, this.getId());
+        // Sets up the query
+        String query = "INSERT INTO Day VALUES(null,?,?,?,?);";
+        try {
+            // Fills prepared statement for every day and executes them together
+            pStatement = connection.prepareStatement(query);
+            for(Day day : days){
+                if(day.id != 0) continue;
+                pStatement.setInt(1, day.userId);
+                pStatement.setInt(2, day.weekId);
+                pStatement.setString(3, day.date.toString());
+                pStatement.setInt(4, day.hoursSpent);
+                pStatement.addBatch();
+            }
 
-                // Result of query is true if SQL command worked
-                rowsAffected = pStatement.executeUpdate();
+            pStatement.executeBatch();
 
-            } catch (SQLException e) {
-                e.printStackTrace();
-            } finally {
-                // Closes the prepared statement
-                if (pStatement != null) {
-                    try {
-                        pStatement.close();
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                    }
+        } finally {
+            // Closes the prepared statement
+            if (pStatement != null) {
+                try {
+                    pStatement.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
                 }
             }
         }
-        // Returns whether deletion was successful
-        return rowsAffected == 1;
     }
 
     /**
-     * Method which updates the hoursSpent variable of the day
-     * in the database.
+     * Method which deletes a Day from the system.
+     * All Events of the Day are deleted by the database through the
+     * cascading foreign key.
+     *
+     * @return true if successful, false otherwise
      */
-    public void updateDay(){
+    public boolean deleteDay(){
+        // Forgets the looked up day
+        identityMap.remove(id);
+
+        // Day doesn't exist in the database
+        if(this.getId() == 0) return true;
+
         // Gets Database connection
         Connection connection = Database.getConnection();
         PreparedStatement pStatement = null;
+        int rowsAffected = 0;
 
         // Sets up the query
-        String query = "UPDATE Day SET hoursSpent = ? WHERE id = ?";
+        String query = "DELETE FROM Day WHERE id = ?;";
         try {
             // Fills prepared statement and executes
             pStatement = connection.prepareStatement(query);
-            pStatement.setInt(1, hoursSpent);
-            pStatement.setInt(2, id);
+            pStatement.setInt(1, this.getId());
 
-            pStatement.execute();
+            // Result of query is true if SQL command worked
+            rowsAffected = pStatement.executeUpdate();
 
         } catch (SQLException e) {
             e.printStackTrace();
         } finally {
-            // Closes the prepared statement and result set
+            // Closes the prepared statement
             if (pStatement != null) {
                 try {
                     pStatement.close();
@@ -344,6 +378,13 @@ public class Day {
                 }
             }
         }
+        // Average hours of the user changed
+        HoursBaseline.invalidate();
+        // Events of the deleted days are deleted with them
+        EventIndex.invalidate();
+
+        // Returns whether deletion was successful
+        return rowsAffected == 1;
     }
 
     /**
@@ -355,7 +396,7 @@ public class Day {
         ArrayList<Event> events = new ArrayList<>();
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
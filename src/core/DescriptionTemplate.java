@@ -0,0 +1,103 @@
+package core;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which fills the week numbers into descriptions of events and tasks.
+ *
+ * Symbol = gets replaced with week number
+ * Symbol < gets replaced with week number - 1
+ * Symbol > gets replaced with week number + 1
+ *
+ * The description is split into text and symbols once, so it can be filled
+ * in for every week of a recurring event or task without parsing it again.
+ * All other characters, including %, are kept as they are.
+ */
+public class DescriptionTemplate {
+    // Text between the symbols, one more than there are symbols
+    private final String[] texts;
+    // Difference from the week number of each symbol
+    private final int[] offsets;
+    // Length of all text together
+    private final int textLength;
+
+    /**
+     * Constructor for DescriptionTemplate.
+     *
+     * @param texts text between the symbols
+     * @param offsets difference from the week number of each symbol
+     * @param textLength length of all text together
+     */
+    private DescriptionTemplate(String[] texts, int[] offsets, int textLength) {
+        this.texts = texts;
+        this.offsets = offsets;
+        this.textLength = textLength;
+    }
+
+    /**
+     * Splits the description into text and symbols.
+     *
+     * @param description description with the symbols =, < and >
+     * @return template of the description
+     */
+    public static DescriptionTemplate compile(String description) {
+        // Counts the symbols first, so the arrays have the right size
+        int symbols = 0;
+        for(int i = 0; i < description.length(); i++){
+            if(offset(description.charAt(i)) != null) symbols++;
+        }
+
+        String[] texts = new String[symbols+1];
+        int[] offsets = new int[symbols];
+        int symbol = 0;
+        int start = 0;
+        for(int i = 0; i < description.length(); i++){
+            Integer offset = offset(description.charAt(i));
+            if(offset == null) continue;
+            texts[symbol] = description.substring(start, i);
+            offsets[symbol] = offset;
+            symbol++;
+            start = i+1;
+        }
+        texts[symbol] = description.substring(start);
+
+        return new DescriptionTemplate(texts, offsets, description.length() - symbols);
+    }
+
+    /**
+     * Returns the difference from the week number, which the character stands for.
+     *
+     * @param character character of the description
+     * @return difference from the week number, null if the character is not a symbol
+     */
+    private static Integer offset(char character) {
+        switch(character){
+            case '=': return 0;
+            case '<': return -1;
+            case '>': return 1;
+            default: return null;
+        }
+    }
+
+    /**
+     * Fills the week numbers into the description.
+     *
+     * @param weekNumber number of the week of the event or task
+     * @return description with the week numbers
+     */
+    public String render(int weekNumber) {
+        if(offsets.length == 0) return texts[0];
+
+        // Week numbers are short, 4 characters leave room for each of them
+        StringBuilder description = new StringBuilder(textLength + offsets.length*4);
+        for(int i = 0; i < offsets.length; i++){
+            description.append(texts[i]).append(weekNumber + offsets[i]);
+        }
+        return description.append(texts[offsets.length]).toString();
+    }
+}
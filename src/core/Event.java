@@ -9,7 +9,9 @@ import javafx.scene.paint.Color;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.DayOfWeek;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,7 +28,7 @@ import java.util.Objects;
  * Class to represent a scheduled Event in the system.
  */
 public class Event {
-    private final int id;
+    private int id;
     private final int userId;
     private int dayId;
     private int moduleId;
@@ -51,6 +53,14 @@ public class Event {
         return userId;
     }
 
+    /**
+     * Getter for dayId.
+     * @return id of the day the event belongs to
+     */
+    public int getDayId() {
+        return dayId;
+    }
+
     /**
      * Setter for dayId.
      * @param dayId of the day the event belongs to
@@ -230,19 +240,22 @@ public class Event {
 
     /**
      * Method which adds an Event to the database.
+     *
+     * @return id of the added event, 0 if it could not be added
      */
-    public void addEvent(){
+    public int addEvent(){
         // Checks if event is not in the database
         if(id == 0){
             // Gets Database connection
             Connection connection = Database.getConnection();
             PreparedStatement pStatement = null;
+            ResultSet rs = null;
 
             // Sets up the query
             String query = "INSERT INTO Event VALUES(null,?,?,?,?,?,?,?);";
             try {
                 // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
+                pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
                 pStatement.setInt(1, userId);
                 pStatement.setInt(2, dayId);
                 pStatement.setInt(3, moduleId);
@@ -253,6 +266,10 @@ public class Event {
 
                 pStatement.executeUpdate();
 
+                // Gets the id of the added event
+                rs = pStatement.getGeneratedKeys();
+                if(rs.next()) this.id = rs.getInt(1);
+
             } catch (SQLException e) {
                 e.printStackTrace();
             } finally {
@@ -264,12 +281,23 @@ public class Event {
                         e.printStackTrace();
                     }
                 }
+                if (rs != null) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
             }
+            // Keeps the time of the event for clash checks
+            EventIndex.eventWritten(this);
         }
+        return id;
     }
 
     /**
      * Method which adds a recurring event to the user's schedule.
+     * All events are added in one transaction, so either all or none of them are added.
      *
      * @param userId id of the user who is adding the event
      * @param day day of the week the event takes place
@@ -279,22 +307,84 @@ public class Event {
      * @param description description of the event
      * @param startTime start time of the event
      * @param endTime end time of the event
+     * @return ids of the added events, empty if they could not be added
      */
-    public static void addRecurringEvent(int userId, DayOfWeek day, List<Week> weeksOfEvent, int moduleId, String name,
+    public static List<Integer> addRecurringEvent(int userId, DayOfWeek day, List<Week> weeksOfEvent, int moduleId, String name,
                                   String description, ScheduleTime startTime, ScheduleTime endTime){
+        // Splits the description once for all weeks
+        DescriptionTemplate template = DescriptionTemplate.compile(description);
 
-        // Goes through all weeks the event has to appear on and creates the events
+        // Creates the event for every week the event has to appear on
+        List<Event> events = new ArrayList<>();
         for(Week week : weeksOfEvent){
-            // Gets the event day id
-            int dayId = week.getDay(day).getId();
+            // Gets the event day id, all days of the period are looked up together
+            int dayId = EventIndex.getDayId(week, day);
 
             // Formats the description if needed
-            String alteredDescription = Event.alterEventDescription(week.getWeekNumber(), description);
+            String alteredDescription = template.render(week.getWeekNumber());
 
-            // Creates the event and adds it to the database
-            Event newEvent = new Event(userId, dayId, moduleId, name, alteredDescription, startTime, endTime);
-            newEvent.addEvent();
+            events.add(new Event(userId, dayId, moduleId, name, alteredDescription, startTime, endTime));
         }
+
+        // Adds the events to the database
+        List<Integer> ids = new ArrayList<>();
+        if(events.isEmpty()) return ids;
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+        try {
+            // Adds all events in one transaction
+            Database.beginTransaction();
+            Connection connection = Database.getConnection();
+
+            // Fills prepared statement for every event and executes it
+            String query = "INSERT INTO Event VALUES(null,?,?,?,?,?,?,?);";
+            pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+            for(Event event : events){
+                pStatement.setInt(1, event.userId);
+                pStatement.setInt(2, event.dayId);
+                pStatement.setInt(3, event.moduleId);
+                pStatement.setString(4, event.name);
+                pStatement.setString(5, event.description);
+                pStatement.setString(6, event.startTime.toString());
+                pStatement.setString(7, event.endTime.toString());
+                pStatement.executeUpdate();
+
+                // Gets the id of the added event
+                rs = pStatement.getGeneratedKeys();
+                if(!rs.next()) throw new SQLException("Id of the added event is missing.");
+                event.id = rs.getInt(1);
+                rs.close();
+            }
+            Database.commitTransaction();
+
+            for(Event event : events){
+                ids.add(event.id);
+                // Keeps the time of the event for clash checks
+                EventIndex.eventWritten(event);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Database.rollbackTransaction();
+            ids.clear();
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) {
+                try {
+                    pStatement.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return ids;
     }
 
     /**
@@ -310,20 +400,7 @@ public class Event {
      * @return altered description
      */
     public static String alterEventDescription(int weekNumber, String description){
-        // Deals with symbol =
-        description = description.replace("=", "%d");
-        description = String.format(description, weekNumber);
-
-        // Deals with symbol <
-        description = description.replace("<", "%d");
-        description = String.format(description, weekNumber-1);
-
-        // Deals with symbol >
-        description = description.replace(">", "%d");
-        description = String.format(description, weekNumber+1);
-
-        // Returns the altered description
-        return description;
+        return DescriptionTemplate.compile(description).render(weekNumber);
     }
 
     /**
@@ -363,6 +440,8 @@ public class Event {
                 }
             }
         }
+        // Frees the time of the event
+        EventIndex.eventDeleted(this);
 
         return rowsAffected!=0;
     }
@@ -405,6 +484,8 @@ public class Event {
                 }
             }
         }
+        // Keeps the new time of the event for clash checks
+        EventIndex.eventWritten(this);
     }
 
     /**
@@ -465,29 +546,12 @@ public class Event {
 
     /**
      * Checks if the event conflicts (is scheduled at the same time) as any
-     * other event.
+     * other event of its day. Event can end at the same time another event starts.
      *
      * @return true if event's time conflicts with another event's time.
      */
     public boolean isTimeConflicting(){
-        // Gets all events of the day during which this event takes place
-        List<Event> dayEvents = this.getDay().getAllEvents();
-        dayEvents.remove(this);
-
-        // Goes through that list and checks event times against times of this event
-        int startTime = ScheduleTime.scheduleTimeToInt(this.startTime);
-        int endTime = ScheduleTime.scheduleTimeToInt(this.endTime);
-        for(Event event : dayEvents){
-            int eventStartTime = ScheduleTime.scheduleTimeToInt(event.getStartTime());
-            int eventEndTime = ScheduleTime.scheduleTimeToInt(event.getEndTime());
-            // If event starts during another event
-            if((eventStartTime>=startTime && eventStartTime<endTime) ||
-                    (startTime>=eventEndTime && endTime<eventStartTime)) return true;
-            // If event ends during another event
-            if((eventEndTime>startTime && eventEndTime<=endTime) ||
-                    (startTime>eventEndTime && endTime<=eventEndTime)) return true;
-        }
-        return false;
+        return EventIndex.isConflicting(dayId, startTime, endTime, id);
     }
 
     @Override
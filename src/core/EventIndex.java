@@ -0,0 +1,346 @@
+package core;
+
+import core.enums.ScheduleTime;
+import database.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which keeps the time slots taken by the events of one period, so
+ * checking whether an event clashes with other events doesn't query the database.
+ *
+ * Each hour between 9:00 and 17:00 is one bit of a mask, an event takes the bits
+ * from its start time up to its end time. Two events clash if their masks share
+ * a bit. The index of the last used period is kept and updated whenever an event
+ * is added, updated or deleted. It is loaded again once days of the period are
+ * deleted.
+ */
+public class EventIndex {
+    // Index of the last used period
+    private static EventIndex memo = null;
+
+    private final int periodId;
+    // Day ids of the weeks of the period, by week id and day of the week
+    private final Map<Integer, int[]> daysOfWeeks = new HashMap<>();
+    // Time slots taken by the events of the day, by day id and event id
+    private final Map<Integer, Map<Integer, Integer>> slotsOfDays = new HashMap<>();
+    // Day of each event, by event id
+    private final Map<Integer, Integer> dayOfEvents = new HashMap<>();
+
+    /**
+     * Constructor for EventIndex.
+     *
+     * @param periodId id of the indexed period
+     */
+    private EventIndex(int periodId) {
+        this.periodId = periodId;
+    }
+
+    /**
+     * Checks whether an event at the given time would clash with other events of the day.
+     *
+     * @param dayId id of the day of the event
+     * @param startTime start time of the event
+     * @param endTime end time of the event
+     * @param eventId id of the event itself, which is not checked against, 0 for new events
+     * @return true if the event clashes with another event, false otherwise
+     */
+    public static synchronized boolean isConflicting(int dayId, ScheduleTime startTime, ScheduleTime endTime, int eventId) {
+        EventIndex index = forDay(dayId);
+        if(index == null) return false;
+        return (index.getTakenSlots(dayId, eventId) & slots(startTime, endTime)) != 0;
+    }
+
+    /**
+     * Finds every week, in which an event recurring on the given day of the week
+     * would clash with other events.
+     *
+     * @param weeks weeks of the recurring event, all from the same period
+     * @param dayOfWeek day of the week the event takes place
+     * @param startTime start time of the event
+     * @param endTime end time of the event
+     * @return weeks with a clash, empty if the event doesn't clash with any events
+     */
+    public static synchronized List<Week> getConflictingWeeks(List<Week> weeks, DayOfWeek dayOfWeek,
+                                                             ScheduleTime startTime, ScheduleTime endTime) {
+        List<Week> conflictingWeeks = new ArrayList<>();
+        if(weeks.isEmpty()) return conflictingWeeks;
+
+        EventIndex index = forWeek(weeks.get(0).getId());
+        if(index == null) return conflictingWeeks;
+
+        int slots = slots(startTime, endTime);
+        for(Week week : weeks){
+            int dayId = index.getDayId(week.getId(), dayOfWeek);
+            if((index.getTakenSlots(dayId, 0) & slots) != 0) conflictingWeeks.add(week);
+        }
+        return conflictingWeeks;
+    }
+
+    /**
+     * Returns the id of the given day of the week.
+     *
+     * @param week week of the day
+     * @param dayOfWeek day of the week
+     * @return id of the day, 0 if the week is not in the database
+     */
+    public static synchronized int getDayId(Week week, DayOfWeek dayOfWeek) {
+        EventIndex index = forWeek(week.getId());
+        if(index == null) return 0;
+        return index.getDayId(week.getId(), dayOfWeek);
+    }
+
+    /**
+     * Keeps the time of an event, which was added or updated.
+     *
+     * @param event added or updated event
+     */
+    static synchronized void eventWritten(Event event) {
+        if(memo == null || event.getId() == 0) return;
+        memo.removeEvent(event.getId());
+        Map<Integer, Integer> slotsOfDay = memo.slotsOfDays.get(event.getDayId());
+        if(slotsOfDay != null){
+            slotsOfDay.put(event.getId(), slots(event.getStartTime(), event.getEndTime()));
+            memo.dayOfEvents.put(event.getId(), event.getDayId());
+        }
+    }
+
+    /**
+     * Forgets the time of an event, which was deleted.
+     *
+     * @param event deleted event
+     */
+    static synchronized void eventDeleted(Event event) {
+        if(memo != null) memo.removeEvent(event.getId());
+    }
+
+    /**
+     * Forgets the kept index. Used when days are deleted together with their events.
+     */
+    static synchronized void invalidate() {
+        memo = null;
+    }
+
+    /**
+     * Returns the time slots taken by the given start and end times.
+     *
+     * @param startTime start time
+     * @param endTime end time
+     * @return mask with a bit for every hour taken, 0 if the end isn't after the start
+     */
+    static int slots(ScheduleTime startTime, ScheduleTime endTime) {
+        int hours = endTime.ordinal() - startTime.ordinal();
+        if(hours <= 0) return 0;
+        return ((1 << hours) - 1) << startTime.ordinal();
+    }
+
+    /**
+     * Returns the time slots taken by the events of the day.
+     *
+     * @param dayId id of the day
+     * @param ignoredEventId id of the event, which is not counted
+     * @return mask with a bit for every hour taken
+     */
+    private int getTakenSlots(int dayId, int ignoredEventId) {
+        int taken = 0;
+        Map<Integer, Integer> slotsOfDay = slotsOfDays.get(dayId);
+        if(slotsOfDay == null) return taken;
+        for(Map.Entry<Integer, Integer> entry : slotsOfDay.entrySet()){
+            if(entry.getKey() != ignoredEventId) taken |= entry.getValue();
+        }
+        return taken;
+    }
+
+    /**
+     * Returns the id of the given day of the week.
+     *
+     * @param weekId id of the week
+     * @param dayOfWeek day of the week
+     * @return id of the day, 0 if the week has no such day
+     */
+    private int getDayId(int weekId, DayOfWeek dayOfWeek) {
+        int[] days = daysOfWeeks.get(weekId);
+        if(days == null) return 0;
+        return days[dayOfWeek.getValue()-1];
+    }
+
+    /**
+     * Forgets the time of the event.
+     *
+     * @param eventId id of the event
+     */
+    private void removeEvent(int eventId) {
+        Integer dayId = dayOfEvents.remove(eventId);
+        if(dayId != null) slotsOfDays.get(dayId).remove(eventId);
+    }
+
+    /**
+     * Returns the index of the period the day belongs to, loading it if needed.
+     *
+     * @param dayId id of the day
+     * @return index or null if the day is not in the database
+     */
+    private static EventIndex forDay(int dayId) {
+        if(memo != null && memo.slotsOfDays.containsKey(dayId)) return memo;
+        return load("SELECT Week.periodId, Week.userId FROM Day CROSS JOIN Week ON Week.id = Day.weekId WHERE Day.id = ?;", dayId);
+    }
+
+    /**
+     * Returns the index of the period the week belongs to, loading it if needed.
+     *
+     * @param weekId id of the week
+     * @return index or null if the week is not in the database
+     */
+    private static EventIndex forWeek(int weekId) {
+        if(memo != null && memo.daysOfWeeks.containsKey(weekId)) return memo;
+        return load("SELECT periodId, userId FROM Week WHERE id = ?;", weekId);
+    }
+
+    /**
+     * Loads the index of the period, which the given query finds, and keeps it.
+     *
+     * @param periodQuery query returning the period id and user id for the given id
+     * @param id id of the day or week
+     * @return index or null if the period could not be found
+     */
+    private static EventIndex load(String periodQuery, int id) {
+        EventIndex index = null;
+
+        // Reads everything from one snapshot of the database
+        try {
+            Connection connection = Database.beginSnapshot();
+            try {
+                int[] period = findPeriod(connection, periodQuery, id);
+                if(period != null){
+                    index = new EventIndex(period[0]);
+                    index.loadDays(connection, period[1]);
+                    index.loadEvents(connection, period[1]);
+                }
+            } finally {
+                Database.endSnapshot();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            index = null;
+        }
+
+        if(index != null) memo = index;
+        return index;
+    }
+
+    /**
+     * Finds the period of a day or a week.
+     *
+     * @param connection connection of the read transaction
+     * @param query query returning the period id and user id for the given id
+     * @param id id of the day or week
+     * @return period id and user id, null if not found
+     * @throws SQLException if query failed
+     */
+    private static int[] findPeriod(Connection connection, String query, int id) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, id);
+
+            rs = pStatement.executeQuery();
+            if(rs.next()) return new int[]{rs.getInt(1), rs.getInt(2)};
+            return null;
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Loads the days of all weeks of the period.
+     *
+     * @param connection connection of the read transaction
+     * @param userId id of the user the period belongs to
+     * @throws SQLException if query failed
+     */
+    private void loadDays(Connection connection, int userId) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query, looking up the days from the weeks of the period
+        String query = "SELECT Day.id, Day.weekId, Day.date FROM Week " +
+                "CROSS JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                "WHERE Week.periodId = ? AND Week.userId = ?;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, periodId);
+            pStatement.setInt(2, userId);
+
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                int dayId = rs.getInt("id");
+                DayOfWeek dayOfWeek = LocalDate.parse(rs.getString("date")).getDayOfWeek();
+                daysOfWeeks.computeIfAbsent(rs.getInt("weekId"), weekId -> new int[7])[dayOfWeek.getValue()-1] = dayId;
+                slotsOfDays.put(dayId, new HashMap<>());
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Loads the times of the events of all days of the period.
+     *
+     * @param connection connection of the read transaction
+     * @param userId id of the user the period belongs to
+     * @throws SQLException if query failed
+     */
+    private void loadEvents(Connection connection, int userId) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query, looking up the events from the weeks of the period
+        String query = "SELECT Event.id, Event.dayId, Event.startTime, Event.endTime FROM Week " +
+                "CROSS JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                "CROSS JOIN Event ON Event.dayId = Day.id AND Event.userId = Day.userId " +
+                "WHERE Week.periodId = ? AND Week.userId = ?;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, periodId);
+            pStatement.setInt(2, userId);
+
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                int eventId = rs.getInt("id");
+                int dayId = rs.getInt("dayId");
+                int slots = slots(ScheduleTime.stringToScheduleTime(rs.getString("startTime")),
+                        ScheduleTime.stringToScheduleTime(rs.getString("endTime")));
+                slotsOfDays.get(dayId).put(eventId, slots);
+                dayOfEvents.put(eventId, dayId);
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+}
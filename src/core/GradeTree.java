@@ -0,0 +1,584 @@
+package core;
+
+import core.enums.Semester;
+import database.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which calculates the grades of the degree, its Years and Modules.
+ *
+ * All Years, Modules and Assignments of the user are loaded at once and every
+ * grade is calculated only once. When an Assignment, Module or Year is updated,
+ * only the grades of it and the grades above it are calculated again. When any
+ * of them is added or deleted, everything is loaded again.
+ *
+ * The tree should be loaded in the background, e.g. with DataLoader. Once it is
+ * kept, its grades can be read on the JavaFX Application Thread.
+ */
+public class GradeTree {
+    // Tree of the last user
+    private static GradeTree memo = null;
+    // Counts the changes, so a tree loaded whilst something changed isn't kept
+    private static int version = 0;
+
+    private final int userId;
+    private final List<Year> years = new ArrayList<>();
+    // Modules by year number and assignments by module code
+    private final Map<Integer, List<Module>> modulesOfYears = new HashMap<>();
+    private final Map<String, List<Assignment>> assignmentsOfModules = new HashMap<>();
+    // Keys the modules and years were loaded with, by their ids
+    private final Map<Integer, String> codesOfModules = new HashMap<>();
+    private final Map<Integer, Integer> numbersOfYears = new HashMap<>();
+
+    // Calculated grades: grade & percent complete of modules by code,
+    // grade, percent complete, spring & autumn grades of years by year number
+    private final Map<String, double[]> moduleGrades = new HashMap<>();
+    private final Map<Integer, double[]> yearGrades = new HashMap<>();
+    private double[] degreeGrades = null;
+
+    /**
+     * Constructor for GradeTree.
+     *
+     * @param userId id of the user
+     */
+    private GradeTree(int userId) {
+        this.userId = userId;
+    }
+
+    // Lists of the tree
+    /**
+     * Returns all Years of the user.
+     *
+     * @param userId id of the user
+     * @return list of Years
+     */
+    public static List<Year> getYears(int userId) {
+        return read(userId, tree -> new ArrayList<>(tree.years));
+    }
+
+    /**
+     * Returns all Modules of the Year.
+     *
+     * @param userId id of the user
+     * @param yearNumber number of the year
+     * @return list of Modules
+     */
+    public static List<Module> getModules(int userId, int yearNumber) {
+        return read(userId, tree -> new ArrayList<>(tree.modulesOf(yearNumber)));
+    }
+
+    /**
+     * Returns all Assignments of the Module.
+     *
+     * @param userId id of the user
+     * @param code code of the module
+     * @return list of Assignments
+     */
+    public static List<Assignment> getAssignments(int userId, String code) {
+        return read(userId, tree -> new ArrayList<>(tree.assignmentsOf(code)));
+    }
+
+    // Grades of the tree
+    /**
+     * Returns the weighted grade of the degree.
+     *
+     * @param userId id of the user
+     * @return grade or -1 if there are no grades yet
+     */
+    public static double getDegreeGrade(int userId) {
+        return read(userId, tree -> tree.degree()[0]);
+    }
+
+    /**
+     * Returns how much of the degree is completed.
+     *
+     * @param userId id of the user
+     * @return % of the degree completed
+     */
+    public static double getDegreePercentComplete(int userId) {
+        return read(userId, tree -> tree.degree()[1]);
+    }
+
+    /**
+     * Returns the weighted grade of the year.
+     *
+     * @param userId id of the user
+     * @param yearNumber number of the year
+     * @return grade or -1 if there are no grades yet
+     */
+    public static double getYearGrade(int userId, int yearNumber) {
+        return read(userId, tree -> tree.year(yearNumber)[0]);
+    }
+
+    /**
+     * Returns how much of the year is completed.
+     *
+     * @param userId id of the user
+     * @param yearNumber number of the year
+     * @return % of the year completed
+     */
+    public static double getYearPercentComplete(int userId, int yearNumber) {
+        return read(userId, tree -> tree.year(yearNumber)[1]);
+    }
+
+    /**
+     * Returns the weighted Spring semester grade of the year.
+     *
+     * @param userId id of the user
+     * @param yearNumber number of the year
+     * @return grade or -1 if there are no grades yet
+     */
+    public static double getSpringGrade(int userId, int yearNumber) {
+        return read(userId, tree -> tree.year(yearNumber)[2]);
+    }
+
+    /**
+     * Returns the weighted Autumn semester grade of the year.
+     *
+     * @param userId id of the user
+     * @param yearNumber number of the year
+     * @return grade or -1 if there are no grades yet
+     */
+    public static double getAutumnGrade(int userId, int yearNumber) {
+        return read(userId, tree -> tree.year(yearNumber)[3]);
+    }
+
+    /**
+     * Returns the weighted grade of the module.
+     *
+     * @param userId id of the user
+     * @param code code of the module
+     * @return grade or -1 if there are no grades yet
+     */
+    public static double getModuleGrade(int userId, String code) {
+        return read(userId, tree -> tree.module(code)[0]);
+    }
+
+    /**
+     * Returns how much of the module is completed.
+     *
+     * @param userId id of the user
+     * @param code code of the module
+     * @return % of the module completed
+     */
+    public static double getModulePercentComplete(int userId, String code) {
+        return read(userId, tree -> tree.module(code)[1]);
+    }
+
+    // Changes of the tree
+    /**
+     * Keeps the updated assignment and forgets the grades of its module, year and degree.
+     *
+     * @param assignment updated assignment
+     */
+    static synchronized void changed(Assignment assignment) {
+        version++;
+        if(memo == null) return;
+        replace(memo.assignmentsOf(assignment.getModuleCode()), assignment);
+        memo.moduleGrades.remove(assignment.getModuleCode());
+        for(Map.Entry<Integer, List<Module>> entry : memo.modulesOfYears.entrySet()){
+            for(Module module : entry.getValue()){
+                if(module.getCode().equals(assignment.getModuleCode())) memo.yearGrades.remove(entry.getKey());
+            }
+        }
+        memo.degreeGrades = null;
+    }
+
+    /**
+     * Keeps the updated module and forgets the grades of it, its year and degree.
+     *
+     * @param module updated module
+     */
+    static synchronized void changed(Module module) {
+        version++;
+        if(memo == null) return;
+        // Assignments are attached by the module code, so the tree is loaded again if it changed
+        if(!module.getCode().equals(memo.codesOfModules.get(module.getId()))){
+            invalidate();
+            return;
+        }
+        replace(memo.modulesOf(module.getStudyYear()), module);
+        memo.moduleGrades.remove(module.getCode());
+        memo.yearGrades.remove(module.getStudyYear());
+        memo.degreeGrades = null;
+    }
+
+    /**
+     * Keeps the updated year and forgets the grades of it and the degree.
+     *
+     * @param year updated year
+     */
+    static synchronized void changed(Year year) {
+        version++;
+        if(memo == null) return;
+        // Modules are attached by the year number, so the tree is loaded again if it changed
+        Integer yearNumber = memo.numbersOfYears.get(year.getId());
+        if(yearNumber == null || yearNumber != year.getYearNumber()){
+            invalidate();
+            return;
+        }
+        replace(memo.years, year);
+        memo.yearGrades.remove(year.getYearNumber());
+        memo.degreeGrades = null;
+    }
+
+    /**
+     * Forgets the tree. Used when Years, Modules or Assignments are added or deleted.
+     */
+    public static synchronized void invalidate() {
+        version++;
+        memo = null;
+    }
+
+    /**
+     * Replaces the kept entity with the same id.
+     *
+     * @param entities kept entities
+     * @param entity updated entity
+     * @param <T> type of the entities
+     */
+    private static <T> void replace(List<T> entities, T entity) {
+        for(int i = 0; i < entities.size(); i++){
+            if(idOf(entities.get(i)) == idOf(entity)) entities.set(i, entity);
+        }
+    }
+
+    /**
+     * Returns the id of a Year, Module or Assignment.
+     *
+     * @param entity Year, Module or Assignment
+     * @return id of the entity
+     */
+    private static int idOf(Object entity) {
+        if(entity instanceof Year) return ((Year) entity).getId();
+        if(entity instanceof Module) return ((Module) entity).getId();
+        return ((Assignment) entity).getId();
+    }
+
+    // Calculations of the grades
+    /**
+     * Calculates the grades of the degree, if they are not calculated yet.
+     *
+     * @return grade and percent complete of the degree
+     */
+    private double[] degree() {
+        if(degreeGrades != null) return degreeGrades;
+
+        //Variables to save interim calculation results
+        double percentAchieved = 0;
+        double percentAvailable = 0;
+        double percent = 0;
+
+        // Goes through years of the user and saves their data
+        for(Year year : years){
+            double[] grades = year(year.getYearNumber());
+            double yearMark = grades[0]*year.getPercentWorth()/100;
+            if(yearMark > 0){
+                percentAchieved += yearMark;
+                percentAvailable += year.getPercentWorth();
+            }
+            if(grades[0] != -1) percent += grades[1] * year.getPercentWorth();
+        }
+
+        // If no years with grades were present, avoids division by 0
+        double grade = percentAvailable == 0 ? -1 : percentAchieved/percentAvailable*100;
+        double percentComplete = percent == 0 ? 0 : (double)Math.round((percent/100) * 10) / 10;
+        degreeGrades = new double[]{grade, percentComplete};
+        return degreeGrades;
+    }
+
+    /**
+     * Calculates the grades of the year, if they are not calculated yet.
+     * Assumes that ALL_YEAR modules are evenly split between Semesters.
+     *
+     * @param yearNumber number of the year
+     * @return grade, percent complete, spring and autumn grades of the year
+     */
+    private double[] year(int yearNumber) {
+        double[] grades = yearGrades.get(yearNumber);
+        if(grades != null) return grades;
+
+        List<Module> modules = modulesOf(yearNumber);
+        double sum = 0, divisor = 0;
+        double springSum = 0, springDivisor = 0;
+        double autumnSum = 0, autumnDivisor = 0;
+        double credits = 0;
+
+        for(Module module : modules){
+            double[] moduleGrades = module(module.getCode());
+            double grade = moduleGrades[0];
+            if(grade == -1) continue;
+
+            sum += grade * module.getCredits();
+            divisor += module.getCredits();
+            credits += module.getCredits() * moduleGrades[1];
+
+            if(module.getSemester() == Semester.ALL_YEAR){
+                springSum += grade * ((double) module.getCredits()/2);
+                springDivisor += (double) module.getCredits()/2;
+                autumnSum += grade * ((double) module.getCredits()/2);
+                autumnDivisor += (double) module.getCredits()/2;
+            }
+            if(module.getSemester() == Semester.SPRING){
+                springSum += grade * module.getCredits();
+                springDivisor += module.getCredits();
+            }
+            if(module.getSemester() == Semester.AUTUMN){
+                autumnSum += grade * module.getCredits();
+                autumnDivisor += module.getCredits();
+            }
+        }
+
+        // Year credits are needed for the percent complete
+        double yearCredits = 0;
+        for(Year year : years){
+            if(year.getYearNumber() == yearNumber) yearCredits = year.getCredits();
+        }
+
+        grades = new double[]{
+                average(sum, divisor),
+                credits == 0 ? 0 : (double)Math.round((credits/yearCredits) * 10) / 10,
+                average(springSum, springDivisor),
+                average(autumnSum, autumnDivisor)
+        };
+        yearGrades.put(yearNumber, grades);
+        return grades;
+    }
+
+    /**
+     * Calculates the grades of the module, if they are not calculated yet.
+     *
+     * @param code code of the module
+     * @return grade and percent complete of the module
+     */
+    private double[] module(String code) {
+        double[] grades = moduleGrades.get(code);
+        if(grades != null) return grades;
+
+        double sum = 0;
+        double divisor = 0;
+        double percent = 0;
+
+        for(Assignment assignment : assignmentsOf(code)){
+            if(assignment.getGrade() != -1){
+                sum += assignment.getGrade() * assignment.getPercentWorth();
+                divisor += assignment.getPercentWorth();
+            }
+            if(assignment.getMaxScore() != -1 && assignment.getScore() != -1)
+                percent += assignment.getPercentWorth();
+        }
+
+        grades = new double[]{average(sum, divisor), (double)Math.round(percent * 10) / 10};
+        moduleGrades.put(code, grades);
+        return grades;
+    }
+
+    /**
+     * Calculates the weighted average rounded to one decimal place.
+     *
+     * @param sum sum of the weighted grades
+     * @param divisor sum of the weights
+     * @return average or -1 if there are no grades
+     */
+    private static double average(double sum, double divisor) {
+        // If no scores yet present
+        if(divisor == 0) return -1;
+        else return (double)Math.round((sum/divisor) * 10) / 10;
+    }
+
+    /**
+     * Returns the kept modules of the year.
+     *
+     * @param yearNumber number of the year
+     * @return modules of the year
+     */
+    private List<Module> modulesOf(int yearNumber) {
+        return modulesOfYears.computeIfAbsent(yearNumber, number -> new ArrayList<>());
+    }
+
+    /**
+     * Returns the kept assignments of the module.
+     *
+     * @param code code of the module
+     * @return assignments of the module
+     */
+    private List<Assignment> assignmentsOf(String code) {
+        return assignmentsOfModules.computeIfAbsent(code, moduleCode -> new ArrayList<>());
+    }
+
+    // Loading of the tree
+    /**
+     * Reads the tree of the user whilst holding the lock of the tree.
+     *
+     * @param userId id of the user
+     * @param reader reads the tree
+     * @param <T> type of the read value
+     * @return read value
+     */
+    private static <T> T read(int userId, Function<GradeTree, T> reader) {
+        GradeTree tree = tree(userId);
+        synchronized (GradeTree.class) {
+            return reader.apply(tree);
+        }
+    }
+
+    /**
+     * Returns the tree of the user, loading it if needed. The tree is loaded
+     * outside of the lock, so readers of the kept tree don't wait for the database.
+     *
+     * @param userId id of the user
+     * @return tree of the user
+     */
+    private static GradeTree tree(int userId) {
+        int loadedVersion;
+        synchronized (GradeTree.class) {
+            if(memo != null && memo.userId == userId) return memo;
+            loadedVersion = version;
+        }
+
+        GradeTree tree = new GradeTree(userId);
+        try {
+            tree.load();
+        } catch (SQLException e) {
+            throw new RuntimeException("Grades of the user could not be loaded.", e);
+        }
+
+        // Keeps the tree, unless another one was kept or something changed whilst loading
+        synchronized (GradeTree.class) {
+            if(memo != null && memo.userId == userId) return memo;
+            if(version == loadedVersion) memo = tree;
+        }
+        return tree;
+    }
+
+    /**
+     * Loads all Years, Modules and Assignments of the user.
+     *
+     * @throws SQLException if query failed
+     */
+    private void load() throws SQLException {
+        // Reads everything from one snapshot of the database
+        Connection connection = Database.beginSnapshot();
+        try {
+            loadYears(connection);
+            loadModules(connection);
+            loadAssignments(connection);
+        } finally {
+            Database.endSnapshot();
+        }
+    }
+
+    /**
+     * Loads all Years of the user.
+     *
+     * @param connection connection of the read transaction
+     * @throws SQLException if query failed
+     */
+    private void loadYears(Connection connection) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT * FROM Year WHERE userId = ?;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, userId);
+
+            // Executes the statement, reconstructs the years
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                Year year = new Year(rs.getInt("id"), userId, rs.getInt("yearNumber"),
+                        rs.getInt("credits"), rs.getDouble("percentWorth"));
+                years.add(year);
+                numbersOfYears.put(year.getId(), year.getYearNumber());
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Loads all Modules of the user.
+     *
+     * @param connection connection of the read transaction
+     * @throws SQLException if query failed
+     */
+    private void loadModules(Connection connection) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT * FROM Module WHERE userId = ?;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, userId);
+
+            // Executes the statement, reconstructs the modules
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                int studyYear = rs.getInt("studyYear");
+                Module module = new Module(rs.getInt("id"), userId, rs.getString("code"),
+                        rs.getString("fullName"), rs.getInt("credits"), rs.getString("semester"),
+                        studyYear, rs.getString("colour"));
+                modulesOf(studyYear).add(module);
+                codesOfModules.put(module.getId(), module.getCode());
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Loads all Assignments of the user.
+     *
+     * @param connection connection of the read transaction
+     * @throws SQLException if query failed
+     */
+    private void loadAssignments(Connection connection) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT * FROM Assignment WHERE userId = ?;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, userId);
+
+            // Executes the statement, reconstructs the assignments
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                String moduleCode = rs.getString("moduleCode");
+                assignmentsOf(moduleCode).add(new Assignment(rs.getInt("id"), userId, moduleCode,
+                        rs.getString("fullName"), rs.getDouble("percentWorth"),
+                        rs.getDouble("maxScore"), rs.getDouble("score")));
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package core;
+
+import database.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which calculates how many hours on average the user spends working
+ * per day and per week. Only weeks with at least one work hour are counted.
+ *
+ * All averages are calculated from one query and kept until hours of any
+ * day change, so redrawing the time charts doesn't query the database.
+ */
+public class HoursBaseline {
+    // Last calculated baseline and the number of hour writes it was calculated after
+    private static HoursBaseline memo = null;
+    private static long memoWrites = -1;
+    private static long writes = 0;
+
+    private final int userId;
+    private final int weeks;
+    private final int hours;
+
+    /**
+     * Constructor for HoursBaseline.
+     *
+     * @param userId id of the user
+     * @param weeks number of weeks with at least one work hour
+     * @param hours hours spent working during those weeks
+     */
+    private HoursBaseline(int userId, int weeks, int hours) {
+        this.userId = userId;
+        this.weeks = weeks;
+        this.hours = hours;
+    }
+
+    /**
+     * Returns the baseline of the given user. Calculates it only if hours
+     * changed since it was last calculated.
+     *
+     * @param user user to get the baseline for
+     * @return baseline of the user
+     */
+    public static HoursBaseline of(User user) {
+        long writesBefore;
+        synchronized (HoursBaseline.class) {
+            if(memo != null && memo.userId == user.getId() && memoWrites == writes) return memo;
+            writesBefore = writes;
+        }
+
+        HoursBaseline baseline = calculate(user.getId());
+
+        // Keeps the baseline unless hours changed whilst it was calculated
+        synchronized (HoursBaseline.class) {
+            if(writesBefore == writes){
+                memo = baseline;
+                memoWrites = writesBefore;
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Forgets the calculated baseline. Used whenever hours of a day change
+     * or days are deleted.
+     */
+    static synchronized void invalidate() {
+        writes++;
+    }
+
+    /**
+     * Counts the weeks with work hours and sums their hours, including the
+     * hours which weren't written yet.
+     *
+     * @param userId id of the user
+     * @return baseline of the user
+     */
+    private static HoursBaseline calculate(int userId) {
+        return TimeJournal.withChanges(changes -> calculate(userId, changes));
+    }
+
+    /**
+     * Counts the weeks with work hours and sums their hours.
+     *
+     * @param userId id of the user
+     * @param changes changes of the hours which weren't written yet
+     * @return baseline of the user
+     */
+    private static HoursBaseline calculate(int userId, TimeJournal.Changes changes) {
+        int weeks = 0;
+        int hours = 0;
+
+        // Gets Database connection
+        Connection connection = Database.getReadConnection();
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT id, hoursSpent FROM Week WHERE userId = ?;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, userId);
+
+            //Executes the statement, counts the weeks with work hours
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                int weekHours = rs.getInt("hoursSpent") + changes.getWeekHours(rs.getInt("id"));
+                if(weekHours > 0){
+                    weeks++;
+                    hours += weekHours;
+                }
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) {
+                try {
+                    pStatement.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return new HoursBaseline(userId, weeks, hours);
+    }
+
+    /**
+     * Getter for the hours spent on average per day.
+     *
+     * @return hours spent on average per day
+     */
+    public double getDayBaseline() {
+        // There are 7 days in a week
+        int days = weeks * 7;
+        if(days == 0) return 0;
+        else return hours / (double) days;
+    }
+
+    /**
+     * Getter for the hours spent on average per day.
+     *
+     * @return hours spent on average per day in the format of X h Y min
+     */
+    public String getDayAverage() {
+        return formatAverage(weeks * 7);
+    }
+
+    /**
+     * Getter for the hours spent on average per week.
+     *
+     * @return hours spent on average per week
+     */
+    public double getWeekBaseline() {
+        if(weeks == 0) return 0;
+        else return hours / (double) weeks;
+    }
+
+    /**
+     * Getter for the hours spent on average per week.
+     *
+     * @return hours spent on average per week in the format of X h Y min
+     */
+    public String getWeekAverage() {
+        return formatAverage(weeks);
+    }
+
+    /**
+     * Formats the hours spent on average per the given number of days or weeks.
+     *
+     * @param count number of days or weeks
+     * @return average in the format of X h Y min
+     */
+    private String formatAverage(int count) {
+        if (count == 0) return "0h 0min";
+        String h = hours/count + "h ";
+        String min = hours%count*60/count + "min ";
+        return h+min;
+    }
+}
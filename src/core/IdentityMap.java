@@ -0,0 +1,158 @@
+package core;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which keeps the entities looked up by their id, so looking up the same
+ * entity again doesn't query the database. Holds a limited number of entities
+ * and forgets the least recently used ones once it is full.
+ *
+ * Entities are forgotten when they are updated or deleted, and all maps are
+ * cleared when the session changes.
+ *
+ * @param <T> type of the entities
+ */
+public class IdentityMap<T> {
+    // All identity maps, so they can be cleared together
+    private static final List<IdentityMap<?>> identityMaps = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final LinkedHashMap<Integer, T> entities;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Constructor for IdentityMap.
+     *
+     * @param name name of the entities, used in the statistics
+     * @param capacity maximum number of entities to keep
+     */
+    IdentityMap(String name, int capacity) {
+        this.name = name;
+        // Access ordered map, so the eldest entry is the least recently used one
+        this.entities = new LinkedHashMap<Integer, T>(capacity, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest) {
+                if(size() > capacity){
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        identityMaps.add(this);
+    }
+
+    /**
+     * Returns the entity with the given id, if it is kept.
+     *
+     * @param id id of the entity
+     * @return entity or null if it is not kept
+     */
+    synchronized T get(int id) {
+        T entity = entities.get(id);
+        if(entity != null) hits++;
+        else misses++;
+        return entity;
+    }
+
+    /**
+     * Keeps the entity, which was looked up from the database.
+     *
+     * @param id id of the entity
+     * @param entity entity to keep
+     */
+    synchronized void put(int id, T entity) {
+        if(entity != null) entities.put(id, entity);
+    }
+
+    /**
+     * Forgets the entity with the given id, used when it is updated or deleted.
+     *
+     * @param id id of the entity
+     */
+    synchronized void remove(int id) {
+        entities.remove(id);
+    }
+
+    /**
+     * Forgets all entities, used when many of them are deleted at once.
+     */
+    synchronized void clear() {
+        entities.clear();
+    }
+
+    /**
+     * Forgets the entities of all identity maps. Used when the session changes.
+     */
+    static void clearAll() {
+        for(IdentityMap<?> identityMap : identityMaps){
+            identityMap.clear();
+        }
+    }
+
+    /**
+     * Getter for the number of lookups, which found the entity.
+     * @return number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Getter for the number of lookups, which had to query the database.
+     * @return number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Getter for the number of entities forgotten to make room for others.
+     * @return number of evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Getter for the part of lookups, which found the entity.
+     * @return hit rate from 0 to 1
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        if(lookups == 0) return 0;
+        return hits / (double) lookups;
+    }
+
+    /**
+     * Returns the statistics of all identity maps.
+     *
+     * @return statistics, one line per identity map
+     */
+    public static String getStatistics() {
+        StringBuilder statistics = new StringBuilder();
+        for(IdentityMap<?> identityMap : identityMaps){
+            if(statistics.length() > 0) statistics.append(System.lineSeparator());
+            statistics.append(identityMap);
+        }
+        return statistics.toString();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: size: %d, hits: %d, misses: %d, hit rate: %.1f%%, evictions: %d",
+                name, entities.size(), hits, misses, getHitRate() * 100, evictions);
+    }
+}
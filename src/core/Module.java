@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -23,7 +24,7 @@ import java.util.Objects;
  * Class for representing a module in the system
  */
 public class Module {
-    private final int id;
+    private int id;
     private final int userId;
     private final String code;
     private String fullName;
@@ -32,6 +33,9 @@ public class Module {
     private final int studyYear;
     private Color colour;
 
+    // Modules looked up by id
+    static final IdentityMap<Module> identityMap = new IdentityMap<>("Module", 128);
+
     /**
      * Getter for module id
      * @return id
@@ -40,6 +44,14 @@ public class Module {
         return id;
     }
 
+    /**
+     * Setter for module id, used once the module is added to the database.
+     * @param id id to set
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Getter for module code
      * @return module code
@@ -192,11 +204,15 @@ public class Module {
      * @param id id of the module
      */
     public static Module moduleFromId(int id){
+        // Returns the module if it was already looked up
+        Module cached = identityMap.get(id);
+        if(cached != null) return cached;
+
         // Creates empty module object
         Module newModule = null;
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -241,6 +257,9 @@ public class Module {
             }
         }
 
+        // Keeps the module for the following lookups
+        identityMap.put(id, newModule);
+
         // Returns the module
         return newModule;
     }
@@ -264,7 +283,7 @@ public class Module {
         ResultSet rs = null;
         try {
             // Prepares the statement
-            pStatement = Database.getConnection().prepareStatement(query);
+            pStatement = Database.getReadConnection().prepareStatement(query);
             pStatement.setString(1, newModuleCode);
             pStatement.setInt(2, user.getId());
 
@@ -301,6 +320,9 @@ public class Module {
      * Used when an already existing module has its information updated.
      */
     public void updateModule (){
+        // Forgets the looked up module, so it is read again with the new data
+        identityMap.remove(id);
+
         // Gets Database connection
         Connection connection = Database.getConnection();
         PreparedStatement pStatement = null;
@@ -332,6 +354,8 @@ public class Module {
                 }
             }
         }
+        // Grades of the module and above it changed
+        GradeTree.changed(this);
     }
 
     /**
@@ -339,24 +363,7 @@ public class Module {
      * @return overall grade of module
      */
     public double getOverallGrade(){
-        List <Assignment> assignments = getAllAssignments();
-        // No assignments added yet
-        if(assignments.isEmpty()) return -1;
-
-        double sum = 0;
-        double divisor = 0;
-
-        for(Assignment assignment : assignments){
-            if(assignment.getGrade() != -1){
-                sum += assignment.getGrade() * assignment.getPercentWorth();
-                divisor += assignment.getPercentWorth();
-            }
-        }
-
-        // If no scores yet present
-        if (divisor == 0) return -1;
-        else return (double)Math.round((sum/divisor) * 10) / 10;
-
+        return GradeTree.getModuleGrade(userId, code);
     }
 
     /**
@@ -364,15 +371,7 @@ public class Module {
      * @return % of the Module completed
      */
     public double getPercentComplete(){
-        List<Assignment> assignments = getAllAssignments();
-        double percent = 0;
-
-        for(Assignment assignment : assignments){
-            if(assignment.getMaxScore() != -1 && assignment.getScore() != -1)
-                percent += assignment.getPercentWorth();
-        }
-
-        return (double)Math.round(percent * 10) / 10;
+        return GradeTree.getModulePercentComplete(userId, code);
     }
 
     /**
@@ -397,20 +396,23 @@ public class Module {
      * Used when user creates a new assignment.
      *
      * @param assignment Assignment to add
+     *
+     * @return id of the added assignment, 0 if it could not be added
      */
-    public void addAssignment(Assignment assignment){
+    public int addAssignment(Assignment assignment){
         // Checks if assignment already exists in the database
         if (assignment.getId() == 0) {
 
             // Gets Database connection
             Connection connection = Database.getConnection();
             PreparedStatement pStatement = null;
+            ResultSet rs = null;
 
             // Sets up the query
             String query = "INSERT INTO Assignment VALUES(null,?,?,?,?,?,?);";
             try {
                 // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
+                pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
                 pStatement.setInt(1, userId);
                 pStatement.setString(2, assignment.getModuleCode());
                 pStatement.setString(3, assignment.getFullName());
@@ -420,10 +422,14 @@ public class Module {
 
                 pStatement.execute();
 
+                // Gets the id of the added assignment
+                rs = pStatement.getGeneratedKeys();
+                if(rs.next()) assignment.setId(rs.getInt(1));
+
             } catch (SQLException e) {
                 e.printStackTrace();
             } finally {
-                // Closes the prepared statement
+                // Closes the prepared statement and result set
                 if (pStatement != null) {
                     try {
                         pStatement.close();
@@ -431,8 +437,18 @@ public class Module {
                         e.printStackTrace();
                     }
                 }
+                if (rs != null) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
+        // Module has a new assignment
+        GradeTree.invalidate();
+        return assignment.getId();
     }
 
     /**
@@ -444,7 +460,7 @@ public class Module {
         ArrayList<Assignment> assignments = new ArrayList<>();
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -7,6 +7,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -22,7 +23,7 @@ import java.util.Objects;
  * Class to represent a Period in the system.
  */
 public class Period {
-    private final int id;
+    private int id;
     private final int userId;
     private final int associatedYear;
     private final String name;
@@ -73,43 +74,6 @@ public class Period {
         return minutesLeft;
     }
 
-    /**
-     * Method which goes through the database and returns the id of the period,
-     * which is the last added period.
-     *
-     * @return id of the most recent added period. -1 if something is wrong.
-     */
-    protected static int getLastId() {
-        int lastPeriod = -1;
-
-        // Gets Database connection
-        Connection connection = Database.getConnection();
-        PreparedStatement pStatement = null;
-
-        // Sets up the query
-        String query = "SELECT * FROM Period ORDER BY id DESC LIMIT 1;";
-        try {
-            // Executes the statement
-            pStatement = connection.prepareStatement(query);
-            // Gets the number of the most recent period
-            lastPeriod = pStatement.executeQuery().getInt("id");
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        } finally {
-            // Closes the prepared statement and result set
-            if (pStatement != null) {
-                try {
-                    pStatement.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-        // Returns the id of last period
-        return lastPeriod;
-    }
-
     /**
      * Constructor for Period.
      * Used when a Period instance is reconstructed from the database.
@@ -125,7 +89,8 @@ public class Period {
         this.userId = userId;
         this.associatedYear = associatedYear;
         this.name = name;
-        this.minutesLeft = minutesLeft;
+        // Minutes, which weren't written to the database yet, replace the stored ones
+        this.minutesLeft = TimeJournal.getPeriodMinutes(id, minutesLeft);
     }
 
     /**
@@ -153,6 +118,8 @@ public class Period {
      * @param minutesToAdd minutes to add to the week
      */
     public void addMinutes(Day day, int minutesToAdd){
+        int minutesBefore = this.minutesLeft;
+
         // Adds leftover minutes of the period
         minutesToAdd += this.minutesLeft;
 
@@ -164,26 +131,41 @@ public class Period {
         day.addHour(hours);
         minutesLeft = minutes;
 
-        // Updates both the day and the period in the database
-        this.updatePeriod();
-        day.updateDay();
+        // Updates both the day and the period in the database in the background
+        TimeJournal.record(this, day, hours, minutesLeft - minutesBefore);
+    }
+
+    /**
+     * Method which removes hours from a day of the period.
+     *
+     * @param day day to remove the hours from
+     * @param hours hours to remove
+     */
+    public void removeHours(Day day, int hours){
+        day.removeHours(hours);
+
+        // Updates the day in the database in the background
+        TimeJournal.record(this, day, -hours, 0);
     }
 
     /**
      * Method which adds the Period to the database.
+     *
+     * @return id of the added period, 0 if it could not be added
      */
-    public void addPeriod(){
+    public int addPeriod(){
         // Checks if period is not in the database
         if(id == 0){
             // Gets Database connection
             Connection connection = Database.getConnection();
             PreparedStatement pStatement = null;
+            ResultSet rs = null;
 
             // Sets up the query
-            String query = "INSERT INTO Period VALUES(null,?,?,?,?);";
+            String query = "INSERT INTO Period (userId, associatedYear, name, minutesLeft) VALUES(?,?,?,?);";
             try {
                 // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
+                pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
                 pStatement.setInt(1, userId);
                 pStatement.setInt(2, associatedYear);
                 pStatement.setString(3, name);
@@ -191,6 +173,10 @@ public class Period {
 
                 pStatement.executeUpdate();
 
+                // Gets the id of the added period
+                rs = pStatement.getGeneratedKeys();
+                if(rs.next()) this.id = rs.getInt(1);
+
             } catch (SQLException e) {
                 e.printStackTrace();
             } finally {
@@ -202,8 +188,16 @@ public class Period {
                         e.printStackTrace();
                     }
                 }
+                if (rs != null) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
+        return id;
     }
 
     /**
@@ -215,7 +209,7 @@ public class Period {
         ArrayList<Week> weeks = new ArrayList<>();
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -265,23 +259,41 @@ public class Period {
     }
 
     /**
-     * Method which updates the minutesLeft variable of the period
-     * in the database.
+     * Method which returns the cumulative number of hours spent working
+     * during the period. The total is kept up to date by the database
+     * whenever hours of the days change, hours which weren't written
+     * yet are added to it.
+     *
+     * @return hours spent working during the period
      */
-    public void updatePeriod(){
+    public int getAllPeriodHours(){
+        return TimeJournal.withChanges(changes -> getStoredHours() + changes.getPeriodHours(id));
+    }
+
+    /**
+     * Method which returns the hours spent working during the period,
+     * which are written to the database.
+     *
+     * @return hours spent working during the period in the database
+     */
+    private int getStoredHours(){
+        int hours = 0;
+
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
+        ResultSet rs = null;
 
         // Sets up the query
-        String query = "UPDATE Period SET minutesLeft = ? WHERE id = ?";
+        String query = "SELECT hoursSpent FROM Period WHERE id = ?;";
         try {
             // Fills prepared statement and executes
             pStatement = connection.prepareStatement(query);
-            pStatement.setInt(1, minutesLeft);
-            pStatement.setInt(2, id);
+            pStatement.setInt(1, id);
 
-            pStatement.execute();
+            //Executes the statement, gets the result set
+            rs = pStatement.executeQuery();
+            if(rs.next()) hours = rs.getInt("hoursSpent");
 
         } catch (SQLException e) {
             e.printStackTrace();
@@ -294,7 +306,15 @@ public class Period {
                     e.printStackTrace();
                 }
             }
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
         }
+        return hours;
     }
 
     /**
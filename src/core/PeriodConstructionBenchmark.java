@@ -0,0 +1,138 @@
+package core;
+
+import database.Database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Benchmark which times the construction of periods of 10, 52 and 200 weeks:
+ * - row by row, as User.constructPeriod used to: every period, week and day is
+ *   inserted in autocommit mode and the ids are read back with separate queries;
+ * - in one transaction with batched day inserts, as User.constructPeriod does.
+ *
+ * Runs on a copy of the bundled database in a temporary directory, unless
+ * -Dorganised.dataDir is given. The periods are deleted after every run.
+ *
+ * Usage: PeriodConstructionBenchmark [runs], e.g. PeriodConstructionBenchmark 5
+ */
+public class PeriodConstructionBenchmark {
+    private final static int[] PERIOD_WEEKS = {10, 52, 200};
+    private final static int DEFAULT_RUNS = 5;
+    // Runs which aren't timed, so the classes and statements are loaded first
+    private final static int WARMUP_RUNS = 1;
+    private final static String USERNAME = "benchmark";
+    private final static LocalDate START_OF_PERIOD = LocalDate.of(2030, 1, 7);
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args number of timed runs per period length, optional
+     * @throws IOException if the temporary directory could not be created
+     * @throws SQLException if the periods could not be constructed
+     */
+    public static void main(String[] args) throws IOException, SQLException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        if(System.getProperty("organised.dataDir") == null)
+            System.setProperty("organised.dataDir", Files.createTempDirectory("organised-benchmark").toString());
+
+        Database.openConnection();
+        if(User.usernameAvailable(USERNAME)) User.addUser(new User("Benchmark", USERNAME, "Benchmark1"));
+        User user = new User(USERNAME);
+
+        for(int weeks : PERIOD_WEEKS){
+            long rowByRowNanos = 0;
+            long batchedNanos = 0;
+            for(int run = -WARMUP_RUNS; run < runs; run++){
+                long start = System.nanoTime();
+                constructRowByRow(Database.getConnection(), user.getId(), weeks);
+                long rowByRow = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                user.constructPeriod(1, "Batched", weeks, START_OF_PERIOD, 1);
+                long batched = System.nanoTime() - start;
+
+                if(run >= 0){
+                    rowByRowNanos += rowByRow;
+                    batchedNanos += batched;
+                }
+
+                // Every run starts with the same database
+                List<Integer> periodIds = new ArrayList<>();
+                for(Period period : user.getAllPeriods()) periodIds.add(period.getId());
+                user.deletePeriods(periodIds, null);
+            }
+            System.out.printf("%3d weeks: row by row %8.1f ms, batched %6.1f ms, %5.1fx faster%n", weeks,
+                    rowByRowNanos / 1e6 / runs, batchedNanos / 1e6 / runs, (double) rowByRowNanos / batchedNanos);
+        }
+        Database.closeConnection();
+    }
+
+    /**
+     * Constructs a period the way User.constructPeriod used to.
+     *
+     * @param connection connection to the database
+     * @param userId id of the user
+     * @param weeks number of weeks of the period
+     * @throws SQLException if the period could not be constructed
+     */
+    private static void constructRowByRow(Connection connection, int userId, int weeks) throws SQLException {
+        try (PreparedStatement period = connection.prepareStatement(
+                     "INSERT INTO Period (userId, associatedYear, name, minutesLeft) VALUES(?,1,'Row by row',0);");
+             PreparedStatement week = connection.prepareStatement(
+                     "INSERT INTO Week (userId, periodId, weekNumber, startDate) VALUES(?,?,?,?);");
+             PreparedStatement day = connection.prepareStatement("INSERT INTO Day VALUES(null,?,?,?,0);");
+             Statement lastId = connection.createStatement()) {
+            period.setInt(1, userId);
+            period.executeUpdate();
+            int periodId = lastId(lastId, "SELECT * FROM Period ORDER BY id DESC LIMIT 1;");
+
+            LocalDate startOfWeek = START_OF_PERIOD;
+            for(int i=1; i<=weeks; i++){
+                week.setInt(1, userId);
+                week.setInt(2, periodId);
+                week.setInt(3, i);
+                week.setString(4, startOfWeek.toString());
+                week.executeUpdate();
+                int weekId = lastId(lastId, "SELECT * FROM Week ORDER BY id DESC LIMIT 1;");
+
+                for(int d=0; d<7; d++){
+                    day.setInt(1, userId);
+                    day.setInt(2, weekId);
+                    day.setString(3, startOfWeek.plusDays(d).toString());
+                    day.executeUpdate();
+                }
+                startOfWeek = startOfWeek.plusWeeks(1);
+            }
+        }
+    }
+
+    /**
+     * Reads the id of the most recently added row.
+     *
+     * @param statement statement to run the query with
+     * @param query query returning the most recently added row
+     * @return id of the row
+     * @throws SQLException if query failed
+     */
+    private static int lastId(Statement statement, String query) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(query)) {
+            return rs.getInt("id");
+        }
+    }
+}
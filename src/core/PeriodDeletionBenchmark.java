@@ -0,0 +1,196 @@
+package core;
+
+import database.Database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Benchmark which times the deletion of periods of 10, 52 and 200 weeks,
+ * with two events on every day and three tasks in every week:
+ * - row by row, as User.deletePeriod used to: the weeks, days, events and tasks are
+ *   looked up and every one of them is deleted with its own statement in autocommit mode;
+ * - with one statement, as User.deletePeriod does, the rest being deleted by the
+ *   cascading foreign keys.
+ *
+ * Runs on a copy of the bundled database in a temporary directory, unless
+ * -Dorganised.dataDir is given.
+ *
+ * Usage: PeriodDeletionBenchmark [runs], e.g. PeriodDeletionBenchmark 5
+ */
+public class PeriodDeletionBenchmark {
+    private final static int[] PERIOD_WEEKS = {10, 52, 200};
+    private final static int DEFAULT_RUNS = 5;
+    // Runs which aren't timed, so the classes and statements are loaded first
+    private final static int WARMUP_RUNS = 1;
+    private final static int EVENTS_PER_DAY = 2;
+    private final static int TASKS_PER_WEEK = 3;
+    private final static String USERNAME = "benchmark";
+    private final static LocalDate START_OF_PERIOD = LocalDate.of(2030, 1, 7);
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args number of timed runs per period length, optional
+     * @throws IOException if the temporary directory could not be created
+     * @throws SQLException if the periods could not be constructed or deleted
+     */
+    public static void main(String[] args) throws IOException, SQLException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        if(System.getProperty("organised.dataDir") == null)
+            System.setProperty("organised.dataDir", Files.createTempDirectory("organised-benchmark").toString());
+
+        Database.openConnection();
+        if(User.usernameAvailable(USERNAME)) User.addUser(new User("Benchmark", USERNAME, "Benchmark1"));
+        User user = new User(USERNAME);
+
+        for(int weeks : PERIOD_WEEKS){
+            long rowByRowNanos = 0;
+            long cascadingNanos = 0;
+            int rows = 0;
+            for(int run = -WARMUP_RUNS; run < runs; run++){
+                rows = constructPeriod(user, weeks);
+                long start = System.nanoTime();
+                deleteRowByRow(Database.getConnection(), lastPeriod(user).getId());
+                long rowByRow = System.nanoTime() - start;
+
+                constructPeriod(user, weeks);
+                start = System.nanoTime();
+                user.deletePeriod(lastPeriod(user));
+                long cascading = System.nanoTime() - start;
+
+                if(run >= 0){
+                    rowByRowNanos += rowByRow;
+                    cascadingNanos += cascading;
+                }
+            }
+            System.out.printf("%3d weeks (%5d rows): row by row %8.1f ms, cascading %6.1f ms, %5.1fx faster%n",
+                    weeks, rows, rowByRowNanos / 1e6 / runs, cascadingNanos / 1e6 / runs,
+                    (double) rowByRowNanos / cascadingNanos);
+        }
+        Database.closeConnection();
+    }
+
+    /**
+     * Constructs a period with events on every day and tasks in every week.
+     *
+     * @param user user to construct the period for
+     * @param weeks number of weeks of the period
+     * @return number of rows of the period, its weeks, days, events and tasks
+     * @throws SQLException if the events or tasks could not be added
+     */
+    private static int constructPeriod(User user, int weeks) throws SQLException {
+        user.constructPeriod(1, "Benchmark", weeks, START_OF_PERIOD, 1);
+        Period period = lastPeriod(user);
+
+        Connection connection = Database.getConnection();
+        Database.beginTransaction();
+        try (PreparedStatement event = connection.prepareStatement("INSERT INTO Event VALUES(null,?,?,0,'Lecture','','9:00','10:00');");
+             PreparedStatement task = connection.prepareStatement("INSERT INTO Task VALUES(null,?,0,?,'Exercises','No');")) {
+            for(Week week : period.getAllWeeks()){
+                for(Day day : week.getAllDays()){
+                    for(int i=0; i<EVENTS_PER_DAY; i++){
+                        event.setInt(1, user.getId());
+                        event.setInt(2, day.getId());
+                        event.addBatch();
+                    }
+                }
+                for(int i=0; i<TASKS_PER_WEEK; i++){
+                    task.setInt(1, user.getId());
+                    task.setInt(2, week.getId());
+                    task.addBatch();
+                }
+            }
+            event.executeBatch();
+            task.executeBatch();
+            Database.commitTransaction();
+        } catch (SQLException e) {
+            Database.rollbackTransaction();
+            throw e;
+        }
+        return 1 + weeks * (1 + TASKS_PER_WEEK + 7 * (1 + EVENTS_PER_DAY));
+    }
+
+    /**
+     * Returns the most recently constructed period of the user.
+     *
+     * @param user user to return the period of
+     * @return last period
+     */
+    private static Period lastPeriod(User user) {
+        List<Period> periods = user.getAllPeriods();
+        return periods.get(periods.size()-1);
+    }
+
+    /**
+     * Deletes a period the way User.deletePeriod used to.
+     *
+     * @param connection connection to the database
+     * @param periodId id of the period to delete
+     * @throws SQLException if the period could not be deleted
+     */
+    private static void deleteRowByRow(Connection connection, int periodId) throws SQLException {
+        for(int weekId : ids(connection, "SELECT id FROM Week WHERE periodId = ?;", periodId)){
+            for(int dayId : ids(connection, "SELECT id FROM Day WHERE weekId = ?;", weekId)){
+                for(int eventId : ids(connection, "SELECT id FROM Event WHERE dayId = ?;", dayId)){
+                    delete(connection, "DELETE FROM Event WHERE id = ?;", eventId);
+                }
+                delete(connection, "DELETE FROM Day WHERE id = ?;", dayId);
+            }
+            for(int taskId : ids(connection, "SELECT id FROM Task WHERE weekId = ?;", weekId)){
+                delete(connection, "DELETE FROM Task WHERE id = ?;", taskId);
+            }
+            delete(connection, "DELETE FROM Week WHERE id = ?;", weekId);
+        }
+        delete(connection, "DELETE FROM Period WHERE id = ?;", periodId);
+    }
+
+    /**
+     * Looks up the ids of the children of a row.
+     *
+     * @param connection connection to the database
+     * @param query query selecting the ids of the children
+     * @param parentId id of the parent row
+     * @return ids of the children
+     * @throws SQLException if query failed
+     */
+    private static List<Integer> ids(Connection connection, String query, int parentId) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+            pStatement.setInt(1, parentId);
+            try (ResultSet rs = pStatement.executeQuery()) {
+                while(rs.next()) ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Deletes one row.
+     *
+     * @param connection connection to the database
+     * @param query query deleting the row by its id
+     * @param id id of the row
+     * @throws SQLException if query failed
+     */
+    private static void delete(Connection connection, String query, int id) throws SQLException {
+        try (PreparedStatement pStatement = connection.prepareStatement(query)) {
+            pStatement.setInt(1, id);
+            pStatement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package core;
+
+import core.enums.ScheduleTime;
+import core.enums.TaskStatus;
+import database.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which holds a snapshot of a Period together with all of its Weeks,
+ * Days, Events and Tasks. The snapshot is loaded with four queries in one
+ * read transaction, so navigating between the weeks of the period doesn't
+ * query the database.
+ *
+ * The snapshot doesn't change once loaded. It has to be loaded again after
+ * weeks, days, events or tasks of the period are added, edited or deleted.
+ */
+public class PeriodGraph {
+    private final Period period;
+    private final List<Week> weeks;
+    private final Map<Integer, Integer> hoursOfWeeks;
+    private final Map<Integer, List<Day>> daysOfWeeks;
+    private final Map<Integer, List<Event>> eventsOfDays;
+    private final Map<Integer, List<Task>> tasksOfWeeks;
+
+    /**
+     * Constructor for PeriodGraph.
+     *
+     * @param period period of the snapshot
+     * @param weeks weeks of the period in the order they were added
+     * @param hoursOfWeeks hours spent working during each week, by week id
+     * @param daysOfWeeks days of each week from Monday to Sunday, by week id
+     * @param eventsOfDays events of each day, by day id
+     * @param tasksOfWeeks tasks of each week, by week id
+     */
+    private PeriodGraph(Period period, List<Week> weeks, Map<Integer, Integer> hoursOfWeeks,
+                        Map<Integer, List<Day>> daysOfWeeks, Map<Integer, List<Event>> eventsOfDays,
+                        Map<Integer, List<Task>> tasksOfWeeks) {
+        this.period = period;
+        this.weeks = Collections.unmodifiableList(weeks);
+        this.hoursOfWeeks = Collections.unmodifiableMap(hoursOfWeeks);
+        this.daysOfWeeks = unmodifiable(daysOfWeeks);
+        this.eventsOfDays = unmodifiable(eventsOfDays);
+        this.tasksOfWeeks = unmodifiable(tasksOfWeeks);
+    }
+
+    /**
+     * Loads the snapshot of the given period from the database.
+     *
+     * @param period period to load
+     * @return snapshot of the period, empty if it could not be loaded
+     */
+    public static PeriodGraph load(Period period) {
+        return TimeJournal.withChanges(changes -> load(period, changes));
+    }
+
+    /**
+     * Loads the snapshot of the given period from the database, adding the
+     * hours which weren't written yet to the hours of the weeks.
+     *
+     * @param period period to load
+     * @param changes time changes, which weren't written yet
+     * @return snapshot of the period, empty if it could not be loaded
+     */
+    private static PeriodGraph load(Period period, TimeJournal.Changes changes) {
+        List<Week> weeks = new ArrayList<>();
+        Map<Integer, Integer> hoursOfWeeks = new HashMap<>();
+        Map<Integer, List<Day>> daysOfWeeks = new HashMap<>();
+        Map<Integer, List<Event>> eventsOfDays = new HashMap<>();
+        Map<Integer, List<Task>> tasksOfWeeks = new HashMap<>();
+
+        // Reads everything from one snapshot of the database
+        try {
+            Connection connection = Database.beginSnapshot();
+            try {
+                loadWeeks(connection, period, changes, weeks, hoursOfWeeks);
+                loadDays(connection, period, daysOfWeeks);
+                loadEvents(connection, period, eventsOfDays);
+                loadTasks(connection, period, tasksOfWeeks);
+            } finally {
+                Database.endSnapshot();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new PeriodGraph(period, weeks, hoursOfWeeks, daysOfWeeks, eventsOfDays, tasksOfWeeks);
+    }
+
+    /**
+     * Loads the weeks of the period together with their hours.
+     *
+     * @param connection connection of the read transaction
+     * @param period period to load
+     * @param changes time changes, which weren't written yet
+     * @param weeks list to add the weeks to
+     * @param hoursOfWeeks map to put the hours of the weeks in
+     * @throws SQLException if query failed
+     */
+    private static void loadWeeks(Connection connection, Period period, TimeJournal.Changes changes,
+                                  List<Week> weeks, Map<Integer, Integer> hoursOfWeeks) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT * FROM Week WHERE periodId = ? AND userId = ? ORDER BY id;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, period.getId());
+            pStatement.setInt(2, period.getUserId());
+
+            // Executes the statement, reconstructs the weeks
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                int id = rs.getInt("id");
+                Week week = new Week(id, period.getUserId(), period.getId(),
+                        rs.getInt("weekNumber"), rs.getString("startDate"));
+                weeks.add(week);
+                hoursOfWeeks.put(id, rs.getInt("hoursSpent") + changes.getWeekHours(id));
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Loads the days of all weeks of the period.
+     *
+     * @param connection connection of the read transaction
+     * @param period period to load
+     * @param daysOfWeeks map to put the days of the weeks in
+     * @throws SQLException if query failed
+     */
+    private static void loadDays(Connection connection, Period period,
+                                 Map<Integer, List<Day>> daysOfWeeks) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query, CROSS JOIN makes the days be looked up from the weeks
+        // of the period instead of going through all days of the user
+        String query = "SELECT Day.* FROM Week " +
+                "CROSS JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                "WHERE Week.periodId = ? AND Week.userId = ? ORDER BY Day.id;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, period.getId());
+            pStatement.setInt(2, period.getUserId());
+
+            // Executes the statement, reconstructs the days
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                int weekId = rs.getInt("weekId");
+                Day day = new Day(rs.getInt("id"), period.getUserId(), weekId,
+                        rs.getString("date"), rs.getInt("hoursSpent"));
+                daysOfWeeks.computeIfAbsent(weekId, id -> new ArrayList<>()).add(day);
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Loads the events of all days of the period.
+     *
+     * @param connection connection of the read transaction
+     * @param period period to load
+     * @param eventsOfDays map to put the events of the days in
+     * @throws SQLException if query failed
+     */
+    private static void loadEvents(Connection connection, Period period,
+                                   Map<Integer, List<Event>> eventsOfDays) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query, looking up the events from the weeks of the period
+        String query = "SELECT Event.* FROM Week " +
+                "CROSS JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                "CROSS JOIN Event ON Event.dayId = Day.id AND Event.userId = Day.userId " +
+                "WHERE Week.periodId = ? AND Week.userId = ? ORDER BY Event.id;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, period.getId());
+            pStatement.setInt(2, period.getUserId());
+
+            // Executes the statement, reconstructs the events
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                int dayId = rs.getInt("dayId");
+                Event event = new Event(rs.getInt("id"), period.getUserId(), dayId, rs.getInt("moduleId"),
+                        rs.getString("name"), rs.getString("description"),
+                        ScheduleTime.stringToScheduleTime(rs.getString("startTime")),
+                        ScheduleTime.stringToScheduleTime(rs.getString("endTime")));
+                eventsOfDays.computeIfAbsent(dayId, id -> new ArrayList<>()).add(event);
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Loads the tasks of all weeks of the period.
+     *
+     * @param connection connection of the read transaction
+     * @param period period to load
+     * @param tasksOfWeeks map to put the tasks of the weeks in
+     * @throws SQLException if query failed
+     */
+    private static void loadTasks(Connection connection, Period period,
+                                  Map<Integer, List<Task>> tasksOfWeeks) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query, looking up the tasks from the weeks of the period
+        String query = "SELECT Task.* FROM Week " +
+                "CROSS JOIN Task ON Task.weekId = Week.id AND Task.userId = Week.userId " +
+                "WHERE Week.periodId = ? AND Week.userId = ? ORDER BY Task.id;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, period.getId());
+            pStatement.setInt(2, period.getUserId());
+
+            // Executes the statement, reconstructs the tasks
+            rs = pStatement.executeQuery();
+            while(rs.next()){
+                int weekId = rs.getInt("weekId");
+                Task task = new Task(rs.getInt("id"), period.getUserId(), rs.getInt("moduleId"), weekId,
+                        rs.getString("description"), TaskStatus.stringToTaskStatus(rs.getString("status")));
+                tasksOfWeeks.computeIfAbsent(weekId, id -> new ArrayList<>()).add(task);
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Makes the map and all lists in it unmodifiable.
+     *
+     * @param map map to make unmodifiable
+     * @param <T> type of the list elements
+     * @return unmodifiable map
+     */
+    private static <T> Map<Integer, List<T>> unmodifiable(Map<Integer, List<T>> map) {
+        map.replaceAll((id, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Getter for the period of the snapshot.
+     * @return period of the snapshot
+     */
+    public Period getPeriod() {
+        return period;
+    }
+
+    /**
+     * Getter for all weeks of the period, in the order they were added.
+     * @return weeks of the period
+     */
+    public List<Week> getWeeks() {
+        return weeks;
+    }
+
+    /**
+     * Returns the last week of the period which has hours recorded, thus
+     * finding the current week of the period. Same as Week.getCurrentWeek().
+     *
+     * @return current week, null if period has no weeks
+     */
+    public Week getCurrentWeek() {
+        // Selects first available week in case all weeks are new
+        Week current = weeks.isEmpty() ? null : weeks.get(0);
+
+        // Goes through all weeks and selects the most recent week with hours added
+        for(Week week : weeks){
+            if(getWeekHours(week) > 0) current = week;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the hours spent working during the given week.
+     *
+     * @param week week of the period
+     * @return hours spent working during the week
+     */
+    public int getWeekHours(Week week) {
+        return hoursOfWeeks.getOrDefault(week.getId(), 0);
+    }
+
+    /**
+     * Returns all days of the given week from Monday to Sunday.
+     *
+     * @param week week of the period
+     * @return days of the week
+     */
+    public List<Day> getDays(Week week) {
+        return daysOfWeeks.getOrDefault(week.getId(), Collections.emptyList());
+    }
+
+    /**
+     * Returns the day of the given week, which is the given day of week.
+     * Same as Week.getDay().
+     *
+     * @param week week of the period
+     * @param dayOfWeek day of week of the desired day
+     * @return day of the week, null if week has no such day
+     */
+    public Day getDay(Week week, DayOfWeek dayOfWeek) {
+        List<Day> days = getDays(week);
+        int index = dayOfWeek.getValue() - 1;
+        return index < days.size() ? days.get(index) : null;
+    }
+
+    /**
+     * Returns all events of the given day.
+     *
+     * @param day day of the period
+     * @return events of the day
+     */
+    public List<Event> getEvents(Day day) {
+        return eventsOfDays.getOrDefault(day.getId(), Collections.emptyList());
+    }
+
+    /**
+     * Returns all tasks of the given week.
+     *
+     * @param week week of the period
+     * @return tasks of the week
+     */
+    public List<Task> getTasks(Week week) {
+        return tasksOfWeeks.getOrDefault(week.getId(), Collections.emptyList());
+    }
+
+    /**
+     * Returns the number of tasks with the given status in the given week.
+     * If taskStatus is null, returns number of all tasks in the week.
+     *
+     * @param week week of the period
+     * @param taskStatus desired status of the task
+     * @return number of tasks with desired status
+     */
+    public int getTasksByStatus(Week week, TaskStatus taskStatus) {
+        List<Task> tasks = getTasks(week);
+        if(taskStatus == null) return tasks.size();
+
+        // Tasks keep the status they were changed to after the snapshot was loaded
+        int count = 0;
+        for(Task task : tasks){
+            if(task.getStatus() == taskStatus) count++;
+        }
+        return count;
+    }
+}
@@ -142,16 +142,24 @@ public class Session {
 
     /**
      * Cleans the session by resetting the logged in user to null.
+     * Forgets all entities looked up by id and the event index of the session.
      */
     public static void cleanSession(){
+        IdentityMap.clearAll();
+        EventIndex.invalidate();
+        GradeTree.invalidate();
         loggedUser = null;
     }
 
     /**
-     * Begins the session by assigning a user to the Session class
+     * Begins the session by assigning a user to the Session class.
+     * Forgets all entities looked up by id and the event index of the previous session.
      * @param currentUser user which is to be logged in
      */
     public static void beginSession(User currentUser){
+        IdentityMap.clearAll();
+        EventIndex.invalidate();
+        GradeTree.invalidate();
         loggedUser = currentUser;
     }
 
@@ -0,0 +1,252 @@
+package core;
+
+import core.enums.Semester;
+import database.Database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Benchmark which times the profile statistics of a synthetic 5-year degree:
+ * two 15-week periods a year with hours on every day, two events on every weekday,
+ * three tasks a week and six modules of four assignments a year.
+ * - walking Period, Week, Day and Event, as the statistics of User used to;
+ * - with the aggregate queries of UserStatistics.
+ * Both results are printed, so they can be compared.
+ *
+ * Runs on a copy of the bundled database in a temporary directory, unless
+ * -Dorganised.dataDir is given.
+ *
+ * Usage: StatisticsBenchmark [runs], e.g. StatisticsBenchmark 5
+ */
+public class StatisticsBenchmark {
+    private final static int DEFAULT_RUNS = 5;
+    // Runs which aren't timed, so the classes and statements are loaded first
+    private final static int WARMUP_RUNS = 1;
+    private final static int YEARS = 5;
+    private final static int WEEKS_PER_PERIOD = 15;
+    private final static int MODULES_PER_YEAR = 6;
+    private final static int ASSIGNMENTS_PER_MODULE = 4;
+    private final static int EVENTS_PER_DAY = 2;
+    private final static int TASKS_PER_WEEK = 3;
+    private final static String USERNAME = "benchmark";
+    private final static LocalDate START_OF_DEGREE = LocalDate.of(2030, 9, 23);
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args number of timed runs, optional
+     * @throws IOException if the temporary directory could not be created
+     * @throws SQLException if the degree could not be constructed
+     */
+    public static void main(String[] args) throws IOException, SQLException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        if(System.getProperty("organised.dataDir") == null)
+            System.setProperty("organised.dataDir", Files.createTempDirectory("organised-benchmark").toString());
+
+        Database.openConnection();
+        if(User.usernameAvailable(USERNAME)) User.addUser(new User("Benchmark", USERNAME, "Benchmark1"));
+        User user = new User(USERNAME);
+        if(user.getAllYears().isEmpty()) constructDegree(user);
+
+        long walkingNanos = 0;
+        long aggregateNanos = 0;
+        String walking = null;
+        String aggregate = null;
+        for(int run = -WARMUP_RUNS; run < runs; run++){
+            // Looked up days would make the walk faster than it used to be
+            Day.identityMap.clear();
+            long start = System.nanoTime();
+            walking = walkingStatistics(user);
+            long walkingRun = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            UserStatistics statistics = new UserStatistics(user);
+            aggregate = statistics.getAssignmentNumber() + " assignments, " + statistics.getModuleNumber() + " modules, " +
+                    statistics.getEventsNumber() + " events, " + statistics.getTasksNumber() + " tasks, " +
+                    statistics.getCompletedTasksNumber() + " completed; " + statistics.getTimeSpentOrganised() + "; " +
+                    statistics.getBusiestWeek() + "; " + statistics.getBusiestPeriod();
+            long aggregateRun = System.nanoTime() - start;
+
+            if(run >= 0){
+                walkingNanos += walkingRun;
+                aggregateNanos += aggregateRun;
+            }
+        }
+        System.out.println("Walking:   " + walking);
+        System.out.println("Aggregate: " + aggregate);
+        System.out.printf("Walking %.1f ms, aggregate %.1f ms, %.1fx faster%n",
+                walkingNanos / 1e6 / runs, aggregateNanos / 1e6 / runs, (double) walkingNanos / aggregateNanos);
+        Database.closeConnection();
+    }
+
+    /**
+     * Constructs the synthetic degree of the user.
+     *
+     * @param user user to construct the degree for
+     * @throws SQLException if the degree could not be constructed
+     */
+    private static void constructDegree(User user) throws SQLException {
+        LocalDate startOfPeriod = START_OF_DEGREE;
+        for(int yearNumber=1; yearNumber<=YEARS; yearNumber++){
+            user.addYear(new Year(user.getId(), yearNumber, 120, 20));
+            user.constructPeriod(yearNumber, "Autumn", WEEKS_PER_PERIOD, startOfPeriod, 1);
+            user.constructPeriod(yearNumber, "Spring", WEEKS_PER_PERIOD, startOfPeriod.plusWeeks(18), 1);
+            startOfPeriod = startOfPeriod.plusYears(1);
+        }
+
+        Connection connection = Database.getConnection();
+        Database.beginTransaction();
+        try (PreparedStatement module = connection.prepareStatement("INSERT INTO Module VALUES(null,?,?,'Benchmark',20,?,?,'#336699');");
+             PreparedStatement assignment = connection.prepareStatement("INSERT INTO Assignment VALUES(null,?,?,'Coursework',25,100,?);");
+             PreparedStatement event = connection.prepareStatement("INSERT INTO Event VALUES(null,?,?,0,'Lecture','','9:00','10:00');");
+             PreparedStatement task = connection.prepareStatement("INSERT INTO Task VALUES(null,?,0,?,'Exercises',?);");
+             PreparedStatement hours = connection.prepareStatement("UPDATE Day SET hoursSpent = id % 9 WHERE userId = ?;");
+             PreparedStatement minutes = connection.prepareStatement("UPDATE Period SET minutesLeft = id * 13 % 60 WHERE userId = ?;")) {
+            for(int yearNumber=1; yearNumber<=YEARS; yearNumber++){
+                for(int m=1; m<=MODULES_PER_YEAR; m++){
+                    String code = "BEN" + yearNumber + m;
+                    module.setInt(1, user.getId());
+                    module.setString(2, code);
+                    module.setString(3, (m % 2 == 0 ? Semester.SPRING : Semester.AUTUMN).toString());
+                    module.setInt(4, yearNumber);
+                    module.addBatch();
+                    for(int a=1; a<=ASSIGNMENTS_PER_MODULE; a++){
+                        assignment.setInt(1, user.getId());
+                        assignment.setString(2, code);
+                        assignment.setDouble(3, 50 + a * 10);
+                        assignment.addBatch();
+                    }
+                }
+            }
+            for(Period period : user.getAllPeriods()){
+                for(Week week : period.getAllWeeks()){
+                    for(Day day : week.getWorkingDays()){
+                        for(int i=0; i<EVENTS_PER_DAY; i++){
+                            event.setInt(1, user.getId());
+                            event.setInt(2, day.getId());
+                            event.addBatch();
+                        }
+                    }
+                    for(int i=0; i<TASKS_PER_WEEK; i++){
+                        task.setInt(1, user.getId());
+                        task.setInt(2, week.getId());
+                        task.setString(3, i == 0 ? "Yes" : "No");
+                        task.addBatch();
+                    }
+                }
+            }
+            module.executeBatch();
+            assignment.executeBatch();
+            event.executeBatch();
+            task.executeBatch();
+            hours.setInt(1, user.getId());
+            hours.executeUpdate();
+            minutes.setInt(1, user.getId());
+            minutes.executeUpdate();
+            Database.commitTransaction();
+        } catch (SQLException e) {
+            Database.rollbackTransaction();
+            throw e;
+        }
+    }
+
+    /**
+     * Calculates the statistics of the user the way User used to: the counts with
+     * one query each, the time and busiest week and period by walking the periods.
+     *
+     * @param user user to calculate the statistics for
+     * @return statistics in the format of the aggregate statistics
+     * @throws SQLException if query failed
+     */
+    private static String walkingStatistics(User user) throws SQLException {
+        String counts = count("SELECT COUNT(userId) FROM Assignment WHERE userId = ?;", user) + " assignments, " +
+                count("SELECT COUNT(userId) FROM Module WHERE userId = ?;", user) + " modules, " +
+                count("SELECT COUNT(userId) FROM Event WHERE userId = ?;", user) + " events, " +
+                count("SELECT COUNT(userId) FROM Task WHERE userId = ?;", user) + " tasks, " +
+                count("SELECT COUNT(userId AND status) FROM Task WHERE userId = ? AND status = 'Yes';", user) + " completed";
+
+        // Time spent organised
+        int minutes = 0;
+        for(Period period : user.getAllPeriods()){
+            for(Week week : period.getAllWeeks()) minutes += weekHours(week)*60;
+            minutes += period.getMinutesLeft();
+        }
+        int days = minutes/1440;
+        minutes = minutes - days*1440;
+        String time = minutes == 0 && days == 0 ? "-" : days + " days " + minutes/60 + "h " + minutes%60 + "min";
+
+        // Busiest week, its hours read again for every comparison
+        Week busiestWeek = null;
+        Period periodOfWeek = null;
+        for(Period period : user.getAllPeriods()){
+            for(Week week : period.getAllWeeks()){
+                if(busiestWeek == null || weekHours(busiestWeek) < weekHours(week)){
+                    busiestWeek = week;
+                    periodOfWeek = period;
+                }
+            }
+        }
+        String week = periodOfWeek == null ? "-" : "Year " + periodOfWeek.getAssociatedYear() + " " +
+                periodOfWeek.getName() + ": " + busiestWeek + " (" + weekHours(busiestWeek) + "h)";
+
+        // Busiest period by the number of events
+        Period busiestPeriod = null;
+        int eventNumber = 0;
+        for(Period period : user.getAllPeriods()){
+            int currentEventNumber = 0;
+            for(Week periodWeek : period.getAllWeeks()){
+                for(Day day : periodWeek.getAllDays()) currentEventNumber += day.getAllEvents().size();
+            }
+            if(busiestPeriod == null || eventNumber < currentEventNumber){
+                busiestPeriod = period;
+                eventNumber = currentEventNumber;
+            }
+        }
+        String period = busiestPeriod == null ? "-" : "Year " + busiestPeriod.getAssociatedYear() + " " +
+                busiestPeriod.getName() + " (" + eventNumber + " events)";
+
+        return counts + "; " + time + "; " + week + "; " + period;
+    }
+
+    /**
+     * Sums the hours of the days of the week, as Week used to.
+     *
+     * @param week week to sum the hours of
+     * @return hours of the week
+     */
+    private static int weekHours(Week week) {
+        int hours = 0;
+        for(Day day : week.getAllDays()) hours += day.getHoursSpent();
+        return hours;
+    }
+
+    /**
+     * Counts the rows of the user.
+     *
+     * @param query counting query with the id of the user as its parameter
+     * @param user user to count the rows of
+     * @return number of rows
+     * @throws SQLException if query failed
+     */
+    private static int count(String query, User user) throws SQLException {
+        try (PreparedStatement pStatement = Database.getReadConnection().prepareStatement(query)) {
+            pStatement.setInt(1, user.getId());
+            try (ResultSet rs = pStatement.executeQuery()) {
+                return rs.getInt(1);
+            }
+        }
+    }
+}
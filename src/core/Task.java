@@ -6,7 +6,10 @@ import javafx.scene.paint.Color;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -21,7 +24,7 @@ import java.util.Objects;
  * Class to represent a Task in the system.
  */
 public class Task {
-    private final int id;
+    private int id;
     private final int userId;
     private int moduleId;
     private final int weekId;
@@ -153,19 +156,22 @@ public class Task {
 
     /**
      * Method which adds a Task to the database.
+     *
+     * @return id of the added task, 0 if it could not be added
      */
-    public void addTask(){
+    public int addTask(){
         // Checks if task is not in the database
         if(id == 0){
             // Gets Database connection
             Connection connection = Database.getConnection();
             PreparedStatement pStatement = null;
+            ResultSet rs = null;
 
             // Sets up the query
             String query = "INSERT INTO Task VALUES(null,?,?,?,?,?);";
             try {
                 // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
+                pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
                 pStatement.setInt(1, userId);
                 pStatement.setInt(2, moduleId);
                 pStatement.setInt(3, weekId);
@@ -174,6 +180,10 @@ public class Task {
 
                 pStatement.executeUpdate();
 
+                // Gets the id of the added task
+                rs = pStatement.getGeneratedKeys();
+                if(rs.next()) this.id = rs.getInt(1);
+
             } catch (SQLException e) {
                 e.printStackTrace();
             } finally {
@@ -185,28 +195,86 @@ public class Task {
                         e.printStackTrace();
                     }
                 }
+                if (rs != null) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
+        return id;
     }
 
     /**
      * Method which adds a recurring task to the user's tasks.
+     * All tasks are added in one transaction, so either all or none of them are added.
      *
      * @param userId id of the user who is adding the task
      * @param weeksOfTask weeks in which the task should be present
      * @param moduleId id of the module associated with task
      * @param description description of the task
+     * @return ids of the added tasks, empty if they could not be added
      */
-    public static void addRecurringTask(int userId, List<Week> weeksOfTask, int moduleId, String description){
-        // Goes through all weeks the task has to appear on and creates the tasks
-        for(Week week : weeksOfTask){
-            // Formats the description if needed
-            String alteredDescription = Task.alterTaskDescription(week.getWeekNumber(), description);
-
-            // Creates the task and adds it to the database
-            Task newTask = new Task(userId, moduleId, week.getId(), alteredDescription);
-            newTask.addTask();
+    public static List<Integer> addRecurringTask(int userId, List<Week> weeksOfTask, int moduleId, String description){
+        List<Integer> ids = new ArrayList<>();
+        if(weeksOfTask.isEmpty()) return ids;
+
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+        try {
+            // Adds all tasks in one transaction
+            Database.beginTransaction();
+            Connection connection = Database.getConnection();
+
+            // Splits the description once for all weeks
+            DescriptionTemplate template = DescriptionTemplate.compile(description);
+
+            // Fills prepared statement for every week the task has to appear on and executes it
+            String query = "INSERT INTO Task VALUES(null,?,?,?,?,?);";
+            pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+            for(Week week : weeksOfTask){
+                // Formats the description if needed
+                String alteredDescription = template.render(week.getWeekNumber());
+
+                pStatement.setInt(1, userId);
+                pStatement.setInt(2, moduleId);
+                pStatement.setInt(3, week.getId());
+                pStatement.setString(4, alteredDescription);
+                pStatement.setString(5, TaskStatus.NO.toString());
+                pStatement.executeUpdate();
+
+                // Gets the id of the added task
+                rs = pStatement.getGeneratedKeys();
+                if(!rs.next()) throw new SQLException("Id of the added task is missing.");
+                ids.add(rs.getInt(1));
+                rs.close();
+            }
+            Database.commitTransaction();
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Database.rollbackTransaction();
+            ids.clear();
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) {
+                try {
+                    pStatement.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
         }
+        return ids;
     }
 
     /**
@@ -222,20 +290,7 @@ public class Task {
      * @return altered description
      */
     public static String alterTaskDescription(int weekNumber, String description) {
-        // Deals with symbol =
-        description = description.replace("=", "%d");
-        description = String.format(description, weekNumber);
-
-        // Deals with symbol <
-        description = description.replace("<", "%d");
-        description = String.format(description, weekNumber-1);
-
-        // Deals with symbol >
-        description = description.replace(">", "%d");
-        description = String.format(description, weekNumber+1);
-
-        // Returns the altered description
-        return description;
+        return DescriptionTemplate.compile(description).render(weekNumber);
     }
 
     /**
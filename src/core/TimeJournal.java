@@ -0,0 +1,463 @@
+package core;
+
+import database.Database;
+
+import java.io.BufferedReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which writes the time spent working to the database in the background.
+ * Hours of days and leftover minutes of periods are kept in memory right away and
+ * only the latest value of each day and period is written, in one transaction,
+ * shortly after the last change.
+ *
+ * Every change is also appended to a journal file next to the database, so it is
+ * written on the next start if the application stops before writing it.
+ *
+ * Hours of the weeks and periods, which are summed by the database, are read
+ * from the database and the changes by how much they were not written yet
+ * are added to them, so reading them never waits for the changes to be written.
+ */
+public class TimeJournal {
+    // How long after the last change the changes are written, can be changed with -Dorganised.journalDelay=ms
+    private final static long FLUSH_DELAY = Long.getLong("organised.journalDelay", 2000);
+    private final static String JOURNAL_FILE = "time.journal";
+    // Line prefixes of the journal file
+    private final static String DAY = "D";
+    private final static String PERIOD = "P";
+
+    // Changes which weren't written yet, latest value by id
+    private final static Map<Integer, Integer> dayHours = new HashMap<>();
+    private final static Map<Integer, Integer> periodMinutes = new HashMap<>();
+    // Changes of the summed hours and minutes which weren't written yet, change by id
+    private final static Map<Integer, Integer> weekHoursChange = new HashMap<>();
+    private final static Map<Integer, Integer> periodHoursChange = new HashMap<>();
+    private final static Map<Integer, Integer> periodMinutesChange = new HashMap<>();
+    // Incremented before and after the changes are committed, odd whilst they are being committed
+    private static long version = 0;
+
+    private final static ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "organised-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static ScheduledFuture<?> scheduledFlush = null;
+
+    // Number of changes kept and written, for the statistics
+    private static long changes = 0;
+    private static long flushes = 0;
+    private static long rowsWritten = 0;
+
+    /**
+     * Keeps the hours of the day and leftover minutes of the period to
+     * write them to the database later.
+     *
+     * @param period period to write the leftover minutes of
+     * @param day day of the period to write the hours of
+     * @param hoursChange by how much the hours of the day changed
+     * @param minutesChange by how much the leftover minutes of the period changed
+     */
+    static synchronized void record(Period period, Day day, int hoursChange, int minutesChange) {
+        periodMinutes.put(period.getId(), period.getMinutesLeft());
+        dayHours.put(day.getId(), day.getHoursSpent());
+        add(weekHoursChange, day.getWeekId(), hoursChange);
+        add(periodHoursChange, period.getId(), hoursChange);
+        add(periodMinutesChange, period.getId(), minutesChange);
+        append(PERIOD + " " + period.getId() + " " + period.getMinutesLeft() + System.lineSeparator() +
+                DAY + " " + day.getId() + " " + day.getHoursSpent() + System.lineSeparator());
+        changed();
+    }
+
+    /**
+     * Adds the change to the change of the given id, forgetting it once it is 0.
+     *
+     * @param changes changes by id
+     * @param id id to add the change to
+     * @param change change to add
+     */
+    private static void add(Map<Integer, Integer> changes, int id, int change) {
+        changes.merge(id, change, Integer::sum);
+        if(changes.get(id) == 0) changes.remove(id);
+    }
+
+    /**
+     * Reads values from the database and adds the changes, which weren't written
+     * yet, to them. Reads them again if the changes were written in the meantime,
+     * so no change is counted twice or missed.
+     *
+     * @param read reads the values and adds the given changes to them
+     * @param <T> type of the values
+     * @return values including the changes
+     */
+    static <T> T withChanges(Function<Changes, T> read) {
+        while(true){
+            Changes changes = getChanges();
+            T values = read.apply(changes);
+            if(changes.isCurrent()) return values;
+        }
+    }
+
+    /**
+     * Returns the changes of the summed hours and minutes, which weren't written
+     * yet. Waits whilst the changes are being committed.
+     *
+     * @return changes which weren't written yet
+     */
+    private static synchronized Changes getChanges() {
+        boolean interrupted = false;
+        while(version % 2 == 1){
+            try {
+                TimeJournal.class.wait();
+            } catch (InterruptedException e) {
+                // Keeps waiting, as changes taken whilst committing would be read again at once
+                interrupted = true;
+            }
+        }
+        if(interrupted) Thread.currentThread().interrupt();
+        return new Changes(version, new HashMap<>(weekHoursChange), new HashMap<>(periodHoursChange),
+                new HashMap<>(periodMinutesChange));
+    }
+
+    /**
+     * Returns the hours of the day, which weren't written to the database yet.
+     * Used when a day is reconstructed from the database.
+     *
+     * @param id id of the day
+     * @param stored hours of the day in the database
+     * @return hours of the day
+     */
+    static synchronized int getDayHours(int id, int stored) {
+        return dayHours.getOrDefault(id, stored);
+    }
+
+    /**
+     * Returns the leftover minutes of the period, which weren't written to the
+     * database yet. Used when a period is reconstructed from the database.
+     *
+     * @param id id of the period
+     * @param stored leftover minutes of the period in the database
+     * @return leftover minutes of the period
+     */
+    static synchronized int getPeriodMinutes(int id, int stored) {
+        return periodMinutes.getOrDefault(id, stored);
+    }
+
+    /**
+     * Writes the kept changes to the database in one transaction. Does nothing
+     * if there are no changes, or if called from inside another transaction,
+     * which would commit them later or roll them back.
+     *
+     * @return true if there are no changes left to write, false otherwise
+     */
+    public static boolean flush() {
+        synchronized (TimeJournal.class) {
+            if(dayHours.isEmpty() && periodMinutes.isEmpty()) return true;
+        }
+        if(Database.isTransactionOpen()) return false;
+
+        Map<Integer, Integer> days;
+        Map<Integer, Integer> periods;
+        Map<Integer, Integer> weeksChange;
+        Map<Integer, Integer> periodsChange;
+        Map<Integer, Integer> minutesChange;
+        try {
+            Database.beginTransaction();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+        boolean committed = false;
+        try {
+            // Takes the changes once the transaction is open, so another flush has finished writing them
+            synchronized (TimeJournal.class) {
+                days = new HashMap<>(dayHours);
+                periods = new HashMap<>(periodMinutes);
+                weeksChange = new HashMap<>(weekHoursChange);
+                periodsChange = new HashMap<>(periodHoursChange);
+                minutesChange = new HashMap<>(periodMinutesChange);
+            }
+            Connection connection = Database.getConnection();
+            write(connection, "UPDATE Day SET hoursSpent = ? WHERE id = ?", days);
+            write(connection, "UPDATE Period SET minutesLeft = ? WHERE id = ?", periods);
+
+            synchronized (TimeJournal.class) {
+                version++;
+            }
+            try {
+                Database.commitTransaction();
+                committed = true;
+            } finally {
+                synchronized (TimeJournal.class) {
+                    // The written changes are in the database now, unless they changed again in the meantime
+                    if(committed){
+                        dayHours.entrySet().removeIf(entry -> entry.getValue().equals(days.get(entry.getKey())));
+                        periodMinutes.entrySet().removeIf(entry -> entry.getValue().equals(periods.get(entry.getKey())));
+                        weeksChange.forEach((id, change) -> add(weekHoursChange, id, -change));
+                        periodsChange.forEach((id, change) -> add(periodHoursChange, id, -change));
+                        minutesChange.forEach((id, change) -> add(periodMinutesChange, id, -change));
+                        flushes++;
+                        rowsWritten += days.size() + periods.size();
+                        rewriteJournal();
+                    }
+                    version++;
+                    TimeJournal.class.notifyAll();
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Database.rollbackTransaction();
+            return false;
+        }
+
+        // Forgets the looked up days, so they are read again with the written hours
+        for(int id : days.keySet()) Day.identityMap.remove(id);
+        return true;
+    }
+
+    /**
+     * Writes the changes of one table in a single batch.
+     *
+     * @param connection writer connection
+     * @param query update of the table, taking the value and the id
+     * @param values latest value by id
+     * @throws SQLException if the changes could not be written
+     */
+    private static void write(Connection connection, String query, Map<Integer, Integer> values) throws SQLException {
+        if(values.isEmpty()) return;
+        PreparedStatement pStatement = null;
+        try {
+            pStatement = connection.prepareStatement(query);
+            for(Map.Entry<Integer, Integer> entry : values.entrySet()){
+                pStatement.setInt(1, entry.getValue());
+                pStatement.setInt(2, entry.getKey());
+                pStatement.addBatch();
+            }
+            pStatement.executeBatch();
+        } finally {
+            // Closes the prepared statement
+            if (pStatement != null) {
+                try {
+                    pStatement.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the changes left in the journal file by the previous run of the
+     * application. Used after the database connection is opened.
+     */
+    public static void recover() {
+        Path file = getJournalFile();
+        if(file == null || !Files.exists(file)) return;
+
+        int recovered = 0;
+        synchronized (TimeJournal.class) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while((line = reader.readLine()) != null){
+                    // Skips lines, which were cut off when the application stopped
+                    String[] parts = line.trim().split(" ");
+                    if(parts.length != 3) continue;
+                    try {
+                        int id = Integer.parseInt(parts[1]);
+                        int value = Integer.parseInt(parts[2]);
+                        if(parts[0].equals(DAY)) dayHours.put(id, value);
+                        else if(parts[0].equals(PERIOD)) periodMinutes.put(id, value);
+                        else continue;
+                        recovered++;
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            // Removes the journal file, if there was nothing to recover
+            if(recovered == 0) rewriteJournal();
+        }
+        if(recovered > 0) System.out.println("Recovering " + recovered + " time changes from " + file);
+        flush();
+    }
+
+    /**
+     * Stops writing in the background and writes the kept changes.
+     * Used when the application exits.
+     */
+    public static void shutdown() {
+        flusher.shutdownNow();
+        if(!flush()) System.out.println("Time changes are kept in the journal until the next start.");
+    }
+
+    /**
+     * Schedules the changes to be written after the delay, replacing the
+     * previously scheduled write, so quick changes are written together.
+     */
+    private static void changed() {
+        changes++;
+        // Average hours of the user changed
+        HoursBaseline.invalidate();
+        if(scheduledFlush != null) scheduledFlush.cancel(false);
+        if(!flusher.isShutdown()) scheduledFlush = flusher.schedule(TimeJournal::flush, FLUSH_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends the changes to the journal file.
+     *
+     * @param lines lines to append
+     */
+    private static void append(String lines) {
+        Path file = getJournalFile();
+        if(file == null) return;
+        try (Writer writer = new FileWriter(file.toFile(), true)) {
+            writer.write(lines);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Replaces the journal file with the changes, which weren't written yet.
+     * Deletes it if all changes were written. The changes are written to a
+     * temporary file first, so the journal is never left half written.
+     */
+    private static void rewriteJournal() {
+        Path file = getJournalFile();
+        if(file == null) return;
+        try {
+            if(dayHours.isEmpty() && periodMinutes.isEmpty()){
+                Files.deleteIfExists(file);
+                return;
+            }
+            StringBuilder lines = new StringBuilder();
+            for(Map.Entry<Integer, Integer> entry : periodMinutes.entrySet()){
+                lines.append(PERIOD).append(" ").append(entry.getKey()).append(" ").append(entry.getValue()).append(System.lineSeparator());
+            }
+            for(Map.Entry<Integer, Integer> entry : dayHours.entrySet()){
+                lines.append(DAY).append(" ").append(entry.getKey()).append(" ").append(entry.getValue()).append(System.lineSeparator());
+            }
+            Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), "timeJournal", ".tmp");
+            try {
+                Files.write(temporary, lines.toString().getBytes(StandardCharsets.UTF_8));
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Changes of the summed hours and minutes, which weren't written yet, taken
+     * at one point in time.
+     */
+    static class Changes {
+        private final long version;
+        private final Map<Integer, Integer> weekHours;
+        private final Map<Integer, Integer> periodHours;
+        private final Map<Integer, Integer> periodMinutes;
+
+        /**
+         * Constructor for Changes.
+         *
+         * @param version version of the journal the changes were taken at
+         * @param weekHours changes of the hours of the weeks, by week id
+         * @param periodHours changes of the hours of the periods, by period id
+         * @param periodMinutes changes of the leftover minutes of the periods, by period id
+         */
+        private Changes(long version, Map<Integer, Integer> weekHours, Map<Integer, Integer> periodHours,
+                        Map<Integer, Integer> periodMinutes) {
+            this.version = version;
+            this.weekHours = weekHours;
+            this.periodHours = periodHours;
+            this.periodMinutes = periodMinutes;
+        }
+
+        /**
+         * Checks whether no changes were committed since these changes were taken.
+         *
+         * @return true if the changes are still current, false otherwise
+         */
+        boolean isCurrent() {
+            synchronized (TimeJournal.class) {
+                return version % 2 == 0 && version == TimeJournal.version;
+            }
+        }
+
+        /**
+         * Returns by how much the hours of the week changed.
+         *
+         * @param weekId id of the week
+         * @return change of the hours of the week
+         */
+        int getWeekHours(int weekId) {
+            return weekHours.getOrDefault(weekId, 0);
+        }
+
+        /**
+         * Returns by how much the hours of the period changed.
+         *
+         * @param periodId id of the period
+         * @return change of the hours of the period
+         */
+        int getPeriodHours(int periodId) {
+            return periodHours.getOrDefault(periodId, 0);
+        }
+
+        /**
+         * Returns by how much the leftover minutes of the period changed.
+         *
+         * @param periodId id of the period
+         * @return change of the leftover minutes of the period
+         */
+        int getPeriodMinutes(int periodId) {
+            return periodMinutes.getOrDefault(periodId, 0);
+        }
+    }
+
+    /**
+     * Getter for the journal file.
+     *
+     * @return journal file or null if the bundled database is used directly
+     */
+    private static Path getJournalFile() {
+        Path directory = Database.getDataDirectory();
+        if(directory == null) return null;
+        return directory.resolve(JOURNAL_FILE);
+    }
+
+    /**
+     * Returns the statistics of the journal.
+     *
+     * @return number of kept changes, writes and rows written
+     */
+    public static synchronized String getStatistics() {
+        return String.format("Time journal: changes: %d, flushes: %d, rows written: %d, pending: %d",
+                changes, flushes, rowsWritten, dayHours.size() + periodMinutes.size());
+    }
+}
@@ -8,10 +8,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.DoubleConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,6 +37,8 @@ public class User {
     private int id;
 
     private static final int PASSWORD_MIN_LENGTH = 8;
+    // Maximum number of ids in one DELETE ... WHERE id IN (...) statement
+    private static final int DELETE_CHUNK_SIZE = 500;
 
     /**
      * Getter for user's forename
@@ -129,7 +135,7 @@ public class User {
         ResultSet rs = null;
         try {
             // Prepares the statement
-            pStatement = Database.getConnection().prepareStatement(query);
+            pStatement = Database.getReadConnection().prepareStatement(query);
             pStatement.setString(1, username);
 
             //Executes the statement, gets the result set
@@ -218,7 +224,7 @@ public class User {
         ResultSet rs = null;
         try {
             // Prepares the statement
-            pStatement = Database.getConnection().prepareStatement(query);
+            pStatement = Database.getReadConnection().prepareStatement(query);
             pStatement.setString(1, username);
 
             //Executes the statement, gets the result set
@@ -377,7 +383,7 @@ public class User {
         ResultSet rs = null;
         try {
             // Prepares the statement
-            pStatement = Database.getConnection().prepareStatement(query);
+            pStatement = Database.getReadConnection().prepareStatement(query);
 
             //Executes the statement, gets the result set
             rs = pStatement.executeQuery();
@@ -420,25 +426,7 @@ public class User {
      * @return degree grade of the user
      */
     public double getDegreeGrade(){
-        List <Year> years = getAllYears();
-        if(years.isEmpty()) return -1;
-
-        //Variables to save interim calculation results
-        double percentAchieved = 0;
-        double percentAvailable = 0;
-
-        // Goes through years of the user and saves their data
-        for(Year year : years){
-            double yearMark = year.getOverallGrade()*year.getPercentWorth()/100;
-            if(yearMark > 0){
-                percentAchieved += yearMark;
-                percentAvailable += year.getPercentWorth();
-            }
-        }
-        // If no years with grades were present, avoids division by 0
-        if(percentAvailable == 0) return -1;
-        // Calculates the grade and returns it
-        return percentAchieved/percentAvailable*100;
+        return GradeTree.getDegreeGrade(id);
     }
 
     /**
@@ -447,16 +435,7 @@ public class User {
      * @return % of degree completed
      */
     public double getDegreePercentComplete(){
-        List<Year> years = getAllYears();
-        double percent = 0;
-
-        for(Year year : years){
-            if(year.getOverallGrade() != -1)
-                percent += year.getPercentComplete() * year.getPercentWorth();
-        }
-
-        if(percent == 0) return 0;
-        else return (double)Math.round((percent/100) * 10) / 10;
+        return GradeTree.getDegreePercentComplete(id);
     }
 
     /**
@@ -486,19 +465,22 @@ public class User {
      * Used when user creates a new year.
      *
      * @param year Year to add
+     *
+     * @return id of the added year, 0 if it could not be added
      */
-    public void addYear(Year year){
+    public int addYear(Year year){
         // Checks if Year already exists in the database
         if(year.getId() == 0) {
             // Gets Database connection
             Connection connection = Database.getConnection();
             PreparedStatement pStatement = null;
+            ResultSet rs = null;
 
             // Sets up the query
             String query = "INSERT INTO Year VALUES(null,?,?,?,?);";
             try {
                 // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
+                pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
                 pStatement.setInt(1, id);
                 pStatement.setInt(2, year.getYearNumber());
                 pStatement.setInt(3, year.getCredits());
@@ -506,10 +488,14 @@ public class User {
 
                 pStatement.execute();
 
+                // Gets the id of the added year
+                rs = pStatement.getGeneratedKeys();
+                if(rs.next()) year.setId(rs.getInt(1));
+
             } catch (SQLException e) {
                 e.printStackTrace();
             } finally {
-                // Closes the prepared statement
+                // Closes the prepared statement and result set
                 if (pStatement != null) {
                     try {
                         pStatement.close();
@@ -517,8 +503,18 @@ public class User {
                         e.printStackTrace();
                     }
                 }
+                if (rs != null) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
+        // Degree has a new year
+        GradeTree.invalidate();
+        return year.getId();
     }
 
     /**
@@ -530,7 +526,7 @@ public class User {
         ArrayList<Year> years = new ArrayList<>();
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -618,6 +614,8 @@ public class User {
                 }
             }
         }
+        // Grades of the module changed
+        GradeTree.invalidate();
         // Returns whether deletion was successful
         return rowsAffected == 1;
     }
@@ -631,6 +629,11 @@ public class User {
      * @return true if deletion successful, false otherwise
      */
     public boolean deleteModule(Module module){
+        // Forgets the looked up module
+        Module.identityMap.remove(module.getId());
+        // Grades of the year changed
+        GradeTree.invalidate();
+
         // Module doesn't exist in the database
         if(module.getId() == 0) return true;
 
@@ -684,44 +687,29 @@ public class User {
      */
     public void deleteYear(Year year){
         // Checks if Year exists in the database
-        if(year.getId() != 0) {
-            // Deletes all modules of the year
-            int counter = 0;
-            List <Module> modules = year.getAllModules();
-            for(Module module : modules){
-                if(this.deleteModule(module)) counter++;
-            }
-
-            // If module deletion was successful, deletes the year
-            if (counter == modules.size()){
-
-                // Gets Database connection
-                Connection connection = Database.getConnection();
-                PreparedStatement pStatement = null;
-
-                // Sets up the query
-                String query = "DELETE FROM Year WHERE id = ?;";
-                try {
-                    // Fills prepared statement and executes
-                    pStatement = connection.prepareStatement(query);
-                    pStatement.setInt(1, year.getId());
-
-                    pStatement.execute();
+        if(year.getId() != 0) deleteYears(Collections.singletonList(year.getId()), null);
+    }
 
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                } finally {
-                    // Closes the prepared statement
-                    if (pStatement != null) {
-                        try {
-                            pStatement.close();
-                        } catch (SQLException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                }
-            }
-        }
+    /**
+     * Method which deletes the years with the given ids together with all of their
+     * modules and assignments. Everything is deleted in one transaction.
+     *
+     * @param yearIds ids of the years to delete
+     * @param progress receives the part of the years deleted so far, from 0 to 1. Can be null
+     * @return number of deleted years, -1 if deletion failed and nothing was deleted
+     */
+    public int deleteYears(Collection<Integer> yearIds, DoubleConsumer progress){
+        // Forgets the looked up modules, which are deleted with the years
+        Module.identityMap.clear();
+        // Grades of the degree changed
+        GradeTree.invalidate();
+
+        String years = "SELECT yearNumber FROM Year WHERE userId = ? AND id IN (%s)";
+        String modules = "SELECT code FROM Module WHERE userId = ? AND studyYear IN (" + years + ")";
+        return deleteInChunks(yearIds, progress,
+                new ChunkedDelete(3, "DELETE FROM Assignment WHERE userId = ? AND moduleCode IN (" + modules + ");"),
+                new ChunkedDelete(2, "DELETE FROM Module WHERE userId = ? AND studyYear IN (" + years + ");"),
+                new ChunkedDelete(1, "DELETE FROM Year WHERE userId = ? AND id IN (%s);"));
     }
 
     // Methods concerning Periods, Weeks & Days
@@ -736,19 +724,34 @@ public class User {
      * @param startWeekNumber number from which the week numeration should start
      */
     public void constructPeriod(int associatedYear, String name, int numberOfWeeks, LocalDate startOfPeriod, int startWeekNumber){
-        // Adds the period to the database
-        Period newPeriod = new Period(this.id, associatedYear, name);
-        newPeriod.addPeriod();
-        int periodId = Period.getLastId();
-
-        // Adds all weeks of the period to the database
-        LocalDate startOfWeek = startOfPeriod;
-        for(int i=startWeekNumber; i<numberOfWeeks+startWeekNumber; i++){
-            Week newWeek = new Week(this.id, periodId, i, startOfWeek);
-            newWeek.constructWeek();
-
-            // Updates the start date for the following week
-            startOfWeek = startOfWeek.plusWeeks(1);
+        try {
+            // Adds the whole period in one transaction
+            Database.beginTransaction();
+
+            // Adds the period to the database
+            Period newPeriod = new Period(this.id, associatedYear, name);
+            int periodId = newPeriod.addPeriod();
+            if(periodId == 0) throw new SQLException("Period " + name + " could not be added.");
+
+            // Adds all weeks of the period to the database
+            List<Day> days = new ArrayList<>();
+            LocalDate startOfWeek = startOfPeriod;
+            for(int i=startWeekNumber; i<numberOfWeeks+startWeekNumber; i++){
+                Week newWeek = new Week(this.id, periodId, i, startOfWeek);
+                days.addAll(newWeek.constructWeek());
+
+                // Updates the start date for the following week
+                startOfWeek = startOfWeek.plusWeeks(1);
+            }
+
+            // Adds the days of all weeks in one batch
+            Day.addDays(days);
+
+            Database.commitTransaction();
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Database.rollbackTransaction();
         }
     }
 
@@ -761,7 +764,7 @@ public class User {
         ArrayList<Period> periods = new ArrayList<>();
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -811,339 +814,166 @@ public class User {
 
     /**
      * Method which deletes a Period from the database.
-     * Also deletes all attached Weeks and Days.
+     * All attached Weeks, Days, Events and Tasks are deleted by the database
+     * through the cascading foreign keys.
      *
      * @param period Period to delete
      */
     public void deletePeriod(Period period){
+        // Forgets the looked up days, which are deleted with the period
+        Day.identityMap.clear();
+
         // Checks if Period exists in the database
         if(period.getId() != 0) {
-            // Deletes all Weeks of the Period
-            int counter = 0;
-            List <Week> weeks = period.getAllWeeks();
-            for(Week week : weeks){
-                if(week.deleteWeek()) counter++;
-            }
-
-            // If week deletion was successful, deletes the period
-            if (counter == weeks.size()){
-
-                // Gets Database connection
-                Connection connection = Database.getConnection();
-                PreparedStatement pStatement = null;
+            // Gets Database connection
+            Connection connection = Database.getConnection();
+            PreparedStatement pStatement = null;
 
-                // Sets up the query
-                String query = "DELETE FROM Period WHERE id = ?;";
-                try {
-                    // Fills prepared statement and executes
-                    pStatement = connection.prepareStatement(query);
-                    pStatement.setInt(1, period.getId());
+            // Sets up the query
+            String query = "DELETE FROM Period WHERE id = ?;";
+            try {
+                // Fills prepared statement and executes
+                pStatement = connection.prepareStatement(query);
+                pStatement.setInt(1, period.getId());
 
-                    pStatement.execute();
+                pStatement.execute();
 
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                } finally {
-                    // Closes the prepared statement
-                    if (pStatement != null) {
-                        try {
-                            pStatement.close();
-                        } catch (SQLException e) {
-                            e.printStackTrace();
-                        }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                // Closes the prepared statement
+                if (pStatement != null) {
+                    try {
+                        pStatement.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
                     }
                 }
             }
-        }
-    }
 
-    /**
-     * Method which returns how many hours on average the user
-     * spends working per day.
-     *
-     * Only takes in days, whose weekly hours spent are not
-     * equal to 0.
-     *
-     * @return hours spent on average per day
-     */
-    public double getOverallHoursSpentDayBaseline(){
-        double days = 0;
-        double hours = 0;
-
-        // Goes through all user periods
-        for(Period period : this.getAllPeriods()){
-            // Goes through all user weeks
-            for(Week week : period.getAllWeeks()){
-                if(week.getAllWeekHours()>0){
-                    days += 7;      // There are 7 days in a week
-                    hours += week.getAllWeekHours();
-                }
-            }
+            // Average hours of the user changed
+            HoursBaseline.invalidate();
+            // Events of the deleted days are deleted with them
+            EventIndex.invalidate();
         }
-
-        // Calculates the result
-        if(days == 0) return 0;
-        else return hours/days;
     }
 
     /**
-     * Method which returns how many hours on average the user
-     * spends working per day.
+     * Method which deletes the periods with the given ids in one transaction.
+     * All attached Weeks, Days, Events and Tasks are deleted by the database
+     * through the cascading foreign keys.
      *
-     * Only takes in days, whose weekly hours spent are not
-     * equal to 0.
-     *
-     * @return hours spent on average per day in the format of X h Y min
+     * @param periodIds ids of the periods to delete
+     * @param progress receives the part of the periods deleted so far, from 0 to 1. Can be null
+     * @return number of deleted periods, -1 if deletion failed and nothing was deleted
      */
-    public String getOverallHoursSpentDay(){
-        int days = 0;
-        int hours = 0;
-
-        // Goes through all user periods
-        for(Period period : this.getAllPeriods()){
-            // Goes through all user weeks
-            for(Week week : period.getAllWeeks()){
-                if(week.getAllWeekHours()>0){
-                    days += 7;      // There are 7 days in a week
-                    hours += week.getAllWeekHours();
-                }
-            }
-        }
-        // Calculates the result
-        if (days == 0) return "0h 0min";
-        else {
-            String h = hours/days + "h ";
-            String min = hours%days*60/days+ "min ";
-            return h+min;
-        }
+    public int deletePeriods(Collection<Integer> periodIds, DoubleConsumer progress){
+        // Forgets the looked up days, which are deleted with the periods
+        Day.identityMap.clear();
+
+        int deleted = deleteInChunks(periodIds, progress,
+                new ChunkedDelete(1, "DELETE FROM Period WHERE userId = ? AND id IN (%s);"));
+
+        // Average hours of the user changed
+        HoursBaseline.invalidate();
+        // Events of the deleted days are deleted with them
+        EventIndex.invalidate();
+        return deleted;
     }
 
     /**
-     * Method which returns how many hours on average the user
-     * spends working per week.
-     *
-     * Only takes weeks, which have at least one work hour in them.
+     * Method which deletes the weeks with the given ids in one transaction.
+     * All attached Days, Events and Tasks are deleted by the database
+     * through the cascading foreign keys.
      *
-     * @return hours spent on average per week in the format of Xh
+     * @param weekIds ids of the weeks to delete
+     * @param progress receives the part of the weeks deleted so far, from 0 to 1. Can be null
+     * @return number of deleted weeks, -1 if deletion failed and nothing was deleted
      */
-    public String getOverallHoursSpentWeek(){
-        int weeks = 0;
-        int hours = 0;
-
-        // Goes through all user periods
-        for(Period period : this.getAllPeriods()){
-            // Goes through all user weeks
-            for(Week week : period.getAllWeeks()){
-                if(week.getAllWeekHours()>0){
-                    weeks++;
-                    hours += week.getAllWeekHours();
-                }
-            }
-        }
-        // Calculates the result
-        if (weeks == 0) return "0h 0min";
-        else {
-            String h = hours/weeks + "h ";
-            String min = hours%weeks*60/weeks+ "min ";
-            return h+min;
-        }
+    public int deleteWeeks(Collection<Integer> weekIds, DoubleConsumer progress){
+        // Forgets the looked up days, which are deleted with the weeks
+        Day.identityMap.clear();
+
+        int deleted = deleteInChunks(weekIds, progress,
+                new ChunkedDelete(1, "DELETE FROM Week WHERE userId = ? AND id IN (%s);"));
+
+        // Average hours of the user changed
+        HoursBaseline.invalidate();
+        // Events of the deleted days are deleted with them
+        EventIndex.invalidate();
+        return deleted;
     }
 
     /**
-     * Method which returns how many hours on average the user
-     * spends working per week.
-     *
-     * Only takes weeks, which have at least one work hour in them.
-     *
-     * @return hours spent on average per week
+     * Delete query which is run for chunks of ids. Its first parameters are the id
+     * of the user, followed by an IN (%s) list, which is filled with a parameter
+     * for every id of the chunk.
      */
-    public double getOverallHoursSpentWeekBaseline(){
-        double weeks = 0;
-        double hours = 0;
-
-        // Goes through all user periods
-        for(Period period : this.getAllPeriods()){
-            // Goes through all user weeks
-            for(Week week : period.getAllWeeks()){
-                if(week.getAllWeekHours()>0){
-                    weeks++;
-                    hours += week.getAllWeekHours();
-                }
-            }
+    private static final class ChunkedDelete {
+        private final int userParameters;
+        private final String query;
+
+        /**
+         * Constructor for a ChunkedDelete.
+         *
+         * @param userParameters number of the leading parameters, which are the id of the user
+         * @param query delete query with the IN (%s) list after the user parameters
+         */
+        private ChunkedDelete(int userParameters, String query) {
+            this.userParameters = userParameters;
+            this.query = query;
         }
-
-        // Calculates the result
-        if(weeks == 0) return 0;
-        else return hours/weeks;
     }
 
-    // Methods concerning user statistics
     /**
-     * Method which returns the number of assignments which are associated with the user.
+     * Method which runs the given delete queries for chunks of the given ids in one
+     * transaction. The rows deleted by the last query are counted.
      *
-     * @return number of assignments of user
+     * @param ids ids of the rows to delete
+     * @param progress receives the part of the ids deleted so far, from 0 to 1. Can be null
+     * @param queries delete queries to run for every chunk, in order
+     * @return number of rows deleted by the last query, -1 if deletion failed
      */
-    public int getAssignmentNumber(){
-        int assignmentNumber = 0;
+    private int deleteInChunks(Collection<Integer> ids, DoubleConsumer progress, ChunkedDelete... queries){
+        List<Integer> idList = new ArrayList<>(ids);
+        int deleted = 0;
 
         // Gets Database connection
         Connection connection = Database.getConnection();
         PreparedStatement pStatement = null;
-        ResultSet rs = null;
-
-        // Sets up the query
-        String query = "SELECT COUNT(userId) FROM Assignment WHERE userId = ?;";
         try {
-            // Fills prepared statement and executes
-            pStatement = connection.prepareStatement(query);
-            pStatement.setInt(1, id);
-
-            // Executes the statement, gets the result set
-            rs = pStatement.executeQuery();
-            assignmentNumber = rs.getInt(1);
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        } finally {
-            // Closes the prepared statement and result set
-            if (pStatement != null) {
-                try {
-                    pStatement.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-            if (rs != null) {
-                try {
-                    rs.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-        return assignmentNumber;
-    }
+            Database.beginTransaction();
 
-    /**
-     * Method which returns the number of modules which are associated with the user.
-     *
-     * @return number of modules of user
-     */
-    public int getModuleNumber(){
-        int moduleNumber = 0;
+            for(int start=0; start<idList.size(); start+=DELETE_CHUNK_SIZE){
+                List<Integer> chunk = idList.subList(start, Math.min(start+DELETE_CHUNK_SIZE, idList.size()));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
 
-        // Gets Database connection
-        Connection connection = Database.getConnection();
-        PreparedStatement pStatement = null;
-        ResultSet rs = null;
-
-        // Sets up the query
-        String query = "SELECT COUNT(userId) FROM Module WHERE userId = ?;";
-        try {
-            // Fills prepared statement and executes
-            pStatement = connection.prepareStatement(query);
-            pStatement.setInt(1, id);
+                for(int q=0; q<queries.length; q++){
+                    // Fills prepared statement and executes
+                    pStatement = connection.prepareStatement(queries[q].query.replace("%s", placeholders));
+                    int parameter = 1;
+                    for(int i=0; i<queries[q].userParameters; i++) pStatement.setInt(parameter++, this.id);
+                    for(int id : chunk) pStatement.setInt(parameter++, id);
 
-            // Executes the statement, gets the result set
-            rs = pStatement.executeQuery();
-            moduleNumber = rs.getInt(1);
+                    int rowsAffected = pStatement.executeUpdate();
+                    if(q == queries.length-1) deleted += rowsAffected;
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        } finally {
-            // Closes the prepared statement and result set
-            if (pStatement != null) {
-                try {
                     pStatement.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-            if (rs != null) {
-                try {
-                    rs.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
+                    pStatement = null;
                 }
-            }
-        }
-        return moduleNumber;
-    }
 
-    /**
-     * Method which returns the number of events which are associated with the user.
-     *
-     * @return number of events of user
-     */
-    public int getEventsNumber(){
-        int eventsNumber = 0;
-
-        // Gets Database connection
-        Connection connection = Database.getConnection();
-        PreparedStatement pStatement = null;
-        ResultSet rs = null;
-
-        // Sets up the query
-        String query = "SELECT COUNT(userId) FROM Event WHERE userId = ?;";
-        try {
-            // Fills prepared statement and executes
-            pStatement = connection.prepareStatement(query);
-            pStatement.setInt(1, id);
-
-            // Executes the statement, gets the result set
-            rs = pStatement.executeQuery();
-            eventsNumber = rs.getInt(1);
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        } finally {
-            // Closes the prepared statement and result set
-            if (pStatement != null) {
-                try {
-                    pStatement.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-            if (rs != null) {
-                try {
-                    rs.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+                // Reports how many of the ids were deleted so far
+                if(progress != null) progress.accept((start + chunk.size()) / (double) idList.size());
             }
-        }
-        return eventsNumber;
-    }
 
-    /**
-     * Method which returns the number of tasks which are associated with the user.
-     *
-     * @return number of tasks of user
-     */
-    public int getTasksNumber(){
-        int tasksNumber = 0;
-
-        // Gets Database connection
-        Connection connection = Database.getConnection();
-        PreparedStatement pStatement = null;
-        ResultSet rs = null;
-
-        // Sets up the query
-        String query = "SELECT COUNT(userId) FROM Task WHERE userId = ?;";
-        try {
-            // Fills prepared statement and executes
-            pStatement = connection.prepareStatement(query);
-            pStatement.setInt(1, id);
-
-            // Executes the statement, gets the result set
-            rs = pStatement.executeQuery();
-            tasksNumber = rs.getInt(1);
+            Database.commitTransaction();
 
         } catch (SQLException e) {
             e.printStackTrace();
+            Database.rollbackTransaction();
+            deleted = -1;
         } finally {
-            // Closes the prepared statement and result set
+            // Closes the prepared statement
             if (pStatement != null) {
                 try {
                     pStatement.close();
@@ -1151,159 +981,58 @@ public class User {
                     e.printStackTrace();
                 }
             }
-            if (rs != null) {
-                try {
-                    rs.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
         }
-        return tasksNumber;
+        return deleted;
     }
 
     /**
-     * Method which returns the number of completed tasks which are associated with the user.
+     * Method which returns how many hours on average the user
+     * spends working per day.
+     *
+     * Only takes in days, whose weekly hours spent are not
+     * equal to 0.
      *
-     * @return number of completed tasks of user
+     * @return hours spent on average per day
      */
-    public int getCompletedTasksNumber(){
-        int completedTasksNumber = 0;
-
-        // Gets Database connection
-        Connection connection = Database.getConnection();
-        PreparedStatement pStatement = null;
-        ResultSet rs = null;
-
-        // Sets up the query
-        String query = "SELECT COUNT(userId AND status) FROM Task WHERE userId = ? AND status = 'Yes';";
-        try {
-            // Fills prepared statement and executes
-            pStatement = connection.prepareStatement(query);
-            pStatement.setInt(1, id);
-
-            // Executes the statement, gets the result set
-            rs = pStatement.executeQuery();
-            completedTasksNumber = rs.getInt(1);
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        } finally {
-            // Closes the prepared statement and result set
-            if (pStatement != null) {
-                try {
-                    pStatement.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-            if (rs != null) {
-                try {
-                    rs.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-        return completedTasksNumber;
+    public double getOverallHoursSpentDayBaseline(){
+        return HoursBaseline.of(this).getDayBaseline();
     }
 
     /**
-     * Method which calculates total time user spent in recorded time.
+     * Method which returns how many hours on average the user
+     * spends working per day.
      *
-     * @return time as string in format __ days __x __min
+     * Only takes in days, whose weekly hours spent are not
+     * equal to 0.
+     *
+     * @return hours spent on average per day in the format of X h Y min
      */
-    public String getTimeSpentOrganised(){
-        int minutes = 0;
-
-        // Goes through all periods
-        for(Period period : this.getAllPeriods()){
-            // Goes through all weeks
-            for(Week week : period.getAllWeeks()){
-                // Adds all week times
-                minutes += week.getAllWeekHours()*60;
-            }
-            // Adds period leftover minutes
-            minutes += period.getMinutesLeft();
-        }
-
-        // Returns the time as string
-        if(minutes==0) return "-";
-        else{
-            int days = minutes/1440;
-            minutes = minutes - days*1440;
-            return days + " days " +minutes/60 + "h " + minutes%60 + "min";
-        }
+    public String getOverallHoursSpentDay(){
+        return HoursBaseline.of(this).getDayAverage();
     }
 
     /**
-     * Method which finds the busiest period of the user based on the number
-     * of events in schedule during that period.
+     * Method which returns how many hours on average the user
+     * spends working per week.
+     *
+     * Only takes weeks, which have at least one work hour in them.
      *
-     * @return busiest period of user based on schedule in format Period Name (_ events)
+     * @return hours spent on average per week in the format of Xh
      */
-    public String getBusiestPeriod(){
-        Period busiestPeriod = null;
-        int eventNumber = 0;
-
-        // Goes through all periods of user
-        for(Period period : this.getAllPeriods()){
-            int currentEventNumber = 0;
-
-            // Goes through all weeks of period
-            for(Week week : period.getAllWeeks()){
-                // Goes through all days of week
-                for(Day day : week.getAllDays()){
-                    // Adds all events to period event count
-                    currentEventNumber += day.getAllEvents().size();
-                }
-            }
-
-            // Compares periods, finds the one with most events
-            if(busiestPeriod==null){
-                busiestPeriod = period;
-                eventNumber = currentEventNumber;
-            }
-            else if(eventNumber<currentEventNumber){
-                busiestPeriod = period;
-                eventNumber = currentEventNumber;
-            }
-        }
-
-        // Returns the busiest period
-        if(busiestPeriod==null) return "-";
-        else return "Year "+busiestPeriod.getAssociatedYear()+" "+busiestPeriod.getName()+" ("+eventNumber+" events)";
+    public String getOverallHoursSpentWeek(){
+        return HoursBaseline.of(this).getWeekAverage();
     }
 
     /**
-     * Method which finds the busiest week of the user based on the time worked during that week.
+     * Method which returns how many hours on average the user
+     * spends working per week.
      *
-     * @return busiest week of user based on time in format Period Name: Week X (__h)
+     * Only takes weeks, which have at least one work hour in them.
+     *
+     * @return hours spent on average per week
      */
-    public String getBusiestWeek(){
-        Week busiestWeek = null;
-        Period periodOfWeek = null;
-
-        // Goes through all user periods
-        for(Period period : this.getAllPeriods()){
-            // Goes through all weeks
-            for(Week week : period.getAllWeeks()){
-                // Chooses the week, that has the most work hours
-                if(busiestWeek==null){
-                    busiestWeek = week;
-                    periodOfWeek = period;
-                }
-                else if(busiestWeek.getAllWeekHours()<week.getAllWeekHours()){
-                    busiestWeek = week;
-                    periodOfWeek = period;
-                }
-            }
-        }
-
-        // Returns the busiest week
-        if (periodOfWeek == null) return "-";
-        else return "Year "+periodOfWeek.getAssociatedYear()+" "+periodOfWeek.getName()+": "
-                +busiestWeek.toString()+" ("+busiestWeek.getAllWeekHours()+"h)";
+    public double getOverallHoursSpentWeekBaseline(){
+        return HoursBaseline.of(this).getWeekBaseline();
     }
 
     @Override
@@ -0,0 +1,293 @@
+package core;
+
+import database.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which calculates the statistics shown in the profile of the user.
+ * All statistics are calculated with three aggregate queries, which run in
+ * one read transaction, so they are consistent with each other. Time, which
+ * wasn't written to the database yet, is added to them.
+ */
+public class UserStatistics {
+    private int assignmentNumber = 0;
+    private int moduleNumber = 0;
+    private int eventsNumber = 0;
+    private int tasksNumber = 0;
+    private int completedTasksNumber = 0;
+    private int minutesOrganised = 0;
+    private String busiestWeek = "-";
+    private String busiestPeriod = "-";
+
+    /**
+     * Constructor for UserStatistics.
+     * Calculates all statistics of the given user.
+     *
+     * @param user user to calculate the statistics for
+     */
+    public UserStatistics(User user) {
+        TimeJournal.withChanges(changes -> calculate(user, changes));
+    }
+
+    /**
+     * Calculates all statistics of the given user from one snapshot of the database.
+     *
+     * @param user user to calculate the statistics for
+     * @param changes time changes, which weren't written yet
+     * @return true if the statistics were calculated, false otherwise
+     */
+    private boolean calculate(User user, TimeJournal.Changes changes) {
+        // Starts again, if the time changes were written whilst calculating
+        minutesOrganised = 0;
+
+        // Reads everything from one snapshot of the database
+        try {
+            Database.borrowReadConnection();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+        try {
+            Connection connection = Database.getReadConnection();
+            boolean startedTransaction = connection.getAutoCommit();
+            if(startedTransaction) connection.setAutoCommit(false);
+            try {
+                calculateCounts(connection, user.getId());
+                calculateBusiestWeek(connection, user.getId(), changes);
+                calculateBusiestPeriod(connection, user.getId(), changes);
+            } finally {
+                if(startedTransaction){
+                    connection.commit();
+                    connection.setAutoCommit(true);
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            Database.releaseReadConnection();
+        }
+    }
+
+    /**
+     * Counts the assignments, modules, events and tasks of the user together
+     * with the minutes left unused in all periods.
+     *
+     * @param connection connection of the read transaction
+     * @param userId id of the user
+     * @throws SQLException if query failed
+     */
+    private void calculateCounts(Connection connection, int userId) throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT " +
+                "(SELECT COUNT(*) FROM Assignment WHERE userId = ?) AS assignments, " +
+                "(SELECT COUNT(*) FROM Module WHERE userId = ?) AS modules, " +
+                "(SELECT COUNT(*) FROM Event WHERE userId = ?) AS events, " +
+                "(SELECT COUNT(*) FROM Task WHERE userId = ?) AS tasks, " +
+                "(SELECT COUNT(*) FROM Task WHERE userId = ? AND status = 'Yes') AS completedTasks, " +
+                "(SELECT COALESCE(SUM(minutesLeft), 0) FROM Period WHERE userId = ?) AS minutesLeft;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            for(int i=1; i<=6; i++) pStatement.setInt(i, userId);
+
+            // Executes the statement, gets the result set
+            rs = pStatement.executeQuery();
+            if(rs.next()){
+                assignmentNumber = rs.getInt("assignments");
+                moduleNumber = rs.getInt("modules");
+                eventsNumber = rs.getInt("events");
+                tasksNumber = rs.getInt("tasks");
+                completedTasksNumber = rs.getInt("completedTasks");
+                minutesOrganised += rs.getInt("minutesLeft");
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Goes through the hours of every week of the user, finding the week with most hours.
+     * Adds the hours of all weeks to the time organised.
+     * If several weeks have the most hours, the first one is chosen.
+     *
+     * @param connection connection of the read transaction
+     * @param userId id of the user
+     * @param changes time changes, which weren't written yet
+     * @throws SQLException if query failed
+     */
+    private void calculateBusiestWeek(Connection connection, int userId, TimeJournal.Changes changes)
+            throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT Period.associatedYear, Period.name, Week.id, Week.weekNumber, Week.hoursSpent AS hours " +
+                "FROM Period " +
+                "JOIN Week ON Week.periodId = Period.id AND Week.userId = Period.userId " +
+                "WHERE Period.userId = ? " +
+                "ORDER BY Period.id, Week.id;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, userId);
+
+            // Executes the statement, goes through the weeks in the order they were added
+            rs = pStatement.executeQuery();
+            int busiestHours = -1;
+            int hoursOrganised = 0;
+            while(rs.next()){
+                int hours = rs.getInt("hours") + changes.getWeekHours(rs.getInt("id"));
+                hoursOrganised += hours;
+
+                // Chooses the week, that has the most work hours
+                if(hours > busiestHours){
+                    busiestHours = hours;
+                    busiestWeek = "Year " + rs.getInt("associatedYear") + " " + rs.getString("name") +
+                            ": Week " + rs.getInt("weekNumber") + " (" + hours + "h)";
+                }
+            }
+            minutesOrganised += hoursOrganised*60;
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Counts the events of every period of the user, finding the period with most events.
+     * If several periods have the most events, the first one is chosen.
+     * Adds the leftover minutes, which weren't written yet, to the time organised.
+     *
+     * @param connection connection of the read transaction
+     * @param userId id of the user
+     * @param changes time changes, which weren't written yet
+     * @throws SQLException if query failed
+     */
+    private void calculateBusiestPeriod(Connection connection, int userId, TimeJournal.Changes changes)
+            throws SQLException {
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT Period.id, Period.associatedYear, Period.name, COUNT(Event.id) AS events " +
+                "FROM Period " +
+                "LEFT JOIN Week ON Week.periodId = Period.id AND Week.userId = Period.userId " +
+                "LEFT JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                "LEFT JOIN Event ON Event.dayId = Day.id AND Event.userId = Day.userId " +
+                "WHERE Period.userId = ? " +
+                "GROUP BY Period.id ORDER BY Period.id;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, userId);
+
+            // Executes the statement, goes through the periods in the order they were added
+            rs = pStatement.executeQuery();
+            int busiestEvents = -1;
+            while(rs.next()){
+                int events = rs.getInt("events");
+                minutesOrganised += changes.getPeriodMinutes(rs.getInt("id"));
+
+                // Compares periods, finds the one with most events
+                if(events > busiestEvents){
+                    busiestEvents = events;
+                    busiestPeriod = "Year " + rs.getInt("associatedYear") + " " + rs.getString("name") +
+                            " (" + events + " events)";
+                }
+            }
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) pStatement.close();
+            if (rs != null) rs.close();
+        }
+    }
+
+    /**
+     * Getter for the number of assignments of the user.
+     * @return number of assignments
+     */
+    public int getAssignmentNumber() {
+        return assignmentNumber;
+    }
+
+    /**
+     * Getter for the number of modules of the user.
+     * @return number of modules
+     */
+    public int getModuleNumber() {
+        return moduleNumber;
+    }
+
+    /**
+     * Getter for the number of events of the user.
+     * @return number of events
+     */
+    public int getEventsNumber() {
+        return eventsNumber;
+    }
+
+    /**
+     * Getter for the number of tasks of the user.
+     * @return number of tasks
+     */
+    public int getTasksNumber() {
+        return tasksNumber;
+    }
+
+    /**
+     * Getter for the number of completed tasks of the user.
+     * @return number of completed tasks
+     */
+    public int getCompletedTasksNumber() {
+        return completedTasksNumber;
+    }
+
+    /**
+     * Getter for the total time user spent in recorded time.
+     *
+     * @return time as string in format __ days __x __min
+     */
+    public String getTimeSpentOrganised() {
+        if(minutesOrganised==0) return "-";
+        int days = minutesOrganised/1440;
+        int minutes = minutesOrganised - days*1440;
+        return days + " days " + minutes/60 + "h " + minutes%60 + "min";
+    }
+
+    /**
+     * Getter for the busiest week of the user based on the time worked during that week.
+     *
+     * @return busiest week in format Year X Period Name: Week X (__h)
+     */
+    public String getBusiestWeek() {
+        return busiestWeek;
+    }
+
+    /**
+     * Getter for the busiest period of the user based on the number of events.
+     *
+     * @return busiest period in format Year X Period Name (_ events)
+     */
+    public String getBusiestPeriod() {
+        return busiestPeriod;
+    }
+}
@@ -7,6 +7,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.TextStyle;
@@ -26,7 +27,7 @@ import java.util.Objects;
  * Class to represent a Week in the system.
  */
 public class Week {
-    private final int id;
+    private int id;
     private final int userId;
     private final int periodId;
     private final int weekNumber;
@@ -105,43 +106,6 @@ public class Week {
         return year+" "+startMonth+" "+startDay+" - "+endMonth+" "+endDay;
     }
 
-    /**
-     * Method which goes through the database and returns the id of the week,
-     * which is the last added week.
-     *
-     * @return id of the most recent added week. -1 if something is wrong.
-     */
-    protected static int getLastId() {
-        int lastPeriod = -1;
-
-        // Gets Database connection
-        Connection connection = Database.getConnection();
-        PreparedStatement pStatement = null;
-
-        // Sets up the query
-        String query = "SELECT * FROM Week ORDER BY id DESC LIMIT 1;";
-        try {
-            // Executes the statement
-            pStatement = connection.prepareStatement(query);
-            // Gets the number of the most recent period
-            lastPeriod = pStatement.executeQuery().getInt("id");
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        } finally {
-            // Closes the prepared statement and result set
-            if (pStatement != null) {
-                try {
-                    pStatement.close();
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-        // Returns the id of last week
-        return lastPeriod;
-    }
-
     /**
      * Method which given a list of weeks returns the last available week
      * which has hours recorded, thus finding the current week of the period
@@ -163,37 +127,44 @@ public class Week {
     }
 
     /**
-     * Method which adds the week instance to the database along with
-     * creation and addition to the database of all days belonging to this
-     * week.
+     * Method which adds the week instance to the database and creates
+     * all days belonging to this week. The days are not added to the
+     * database, so they can be added together with the days of other weeks.
+     *
+     * @return list of the 7 new days of the week
+     * @throws SQLException if the week could not be added
      */
-    protected void constructWeek(){
+    protected List<Day> constructWeek() throws SQLException {
         // Adds the week to the database
-        this.addWeek();
-        int weekId = Week.getLastId();
+        int weekId = this.addWeek();
+        if(weekId == 0) throw new SQLException("Week " + weekNumber + " could not be added.");
 
-        // Creates all days of the Week and adds them to the database
+        // Creates all days of the Week
+        List<Day> days = new ArrayList<>();
         for(int i=0; i<7; i++){
-            Day newDay = new Day(this.userId, weekId, this.startDate.plusDays(i));
-            newDay.addDay();
+            days.add(new Day(this.userId, weekId, this.startDate.plusDays(i)));
         }
+        return days;
     }
 
     /**
      * Method which adds a Week to the database.
+     *
+     * @return id of the added week, 0 if it could not be added
      */
-    private void addWeek(){
+    private int addWeek(){
         // Checks if week is not in the database
         if(id == 0){
             // Gets Database connection
             Connection connection = Database.getConnection();
             PreparedStatement pStatement = null;
+            ResultSet rs = null;
 
             // Sets up the query
-            String query = "INSERT INTO Week VALUES(null,?,?,?,?);";
+            String query = "INSERT INTO Week (userId, periodId, weekNumber, startDate) VALUES(?,?,?,?);";
             try {
                 // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
+                pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
                 pStatement.setInt(1, userId);
                 pStatement.setInt(2, periodId);
                 pStatement.setInt(3, weekNumber);
@@ -201,6 +172,10 @@ public class Week {
 
                 pStatement.executeUpdate();
 
+                // Gets the id of the added week
+                rs = pStatement.getGeneratedKeys();
+                if(rs.next()) this.id = rs.getInt(1);
+
             } catch (SQLException e) {
                 e.printStackTrace();
             } finally {
@@ -212,8 +187,16 @@ public class Week {
                         e.printStackTrace();
                     }
                 }
+                if (rs != null) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
+        return id;
     }
 
     /**
@@ -265,7 +248,7 @@ public class Week {
         ArrayList<Day> days = new ArrayList<>();
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -324,7 +307,7 @@ public class Week {
         ArrayList<Task> tasks = new ArrayList<>();
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -417,84 +400,110 @@ public class Week {
     }
 
     /**
-     * Method which gets all days of the week and returns the cumulative
-     * number of hours spent working.
+     * Method which returns the cumulative number of hours spent working
+     * during the week. The total is kept up to date by the database
+     * whenever hours of the days change, hours which weren't written
+     * yet are added to it.
      *
      * @return hours spent working during the week
      */
     public int getAllWeekHours(){
-        int hours = 0;
-        for(Day day : this.getAllDays()){
-            hours += day.getHoursSpent();
-        }
-        return hours;
+        return TimeJournal.withChanges(changes -> getStoredHours() + changes.getWeekHours(id));
     }
 
     /**
-     * Method which returns how many minutes per day on average during
-     * this week are spent working.
+     * Method which returns the hours spent working during the week,
+     * which are written to the database.
      *
-     * @return average minutes spent working per day this week
+     * @return hours spent working during the week in the database
      */
-    public int getDailyAverage(){
-        // 7 days in a week
-        return (int) Math.round((this.getAllWeekHours() * 60 / 7.0) * 1);
+    private int getStoredHours(){
+        int hours = 0;
+
+        // Gets Database connection
+        Connection connection = Database.getReadConnection();
+        PreparedStatement pStatement = null;
+        ResultSet rs = null;
+
+        // Sets up the query
+        String query = "SELECT hoursSpent FROM Week WHERE id = ?;";
+        try {
+            // Fills prepared statement and executes
+            pStatement = connection.prepareStatement(query);
+            pStatement.setInt(1, id);
+
+            //Executes the statement, gets the result set
+            rs = pStatement.executeQuery();
+            if(rs.next()) hours = rs.getInt("hoursSpent");
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            // Closes the prepared statement and result set
+            if (pStatement != null) {
+                try {
+                    pStatement.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return hours;
     }
 
     /**
-     * Method which deletes a Week and all of its attached Days from the database.
+     * Method which deletes a Week from the database.
+     * All attached Days, Events and Tasks are deleted by the database
+     * through the cascading foreign keys.
      *
      * @return true if successful, false otherwise
      */
     public boolean deleteWeek(){
+        // Forgets the looked up days, which are deleted with the week
+        Day.identityMap.clear();
+
         int rowsAffected = 0;
 
         // Checks if Week exists in the database
         if(this.getId() != 0) {
-            // Deletes all Days of the Week
-            int dayCounter = 0;
-            List <Day> days = this.getAllDays();
-            for(Day day : days){
-                if(day.deleteDay()) dayCounter++;
-            }
-
-            // Deletes all Tasks of the Week
-            int taskCounter = 0;
-            List <Task> tasks = this.getAllTasks();
-            for(Task task : tasks){
-                if(task.deleteTask()) taskCounter++;
-            }
-
-            // If day & task deletion was successful, deletes the week
-            if (dayCounter == days.size() && taskCounter == tasks.size()){
-
-                // Gets Database connection
-                Connection connection = Database.getConnection();
-                PreparedStatement pStatement = null;
+            // Gets Database connection
+            Connection connection = Database.getConnection();
+            PreparedStatement pStatement = null;
 
-                // Sets up the query
-                String query = "DELETE FROM Week WHERE id = ?;";
-                try {
-                    // Fills prepared statement and executes
-                    pStatement = connection.prepareStatement(query);
-                    pStatement.setInt(1, this.getId());
+            // Sets up the query
+            String query = "DELETE FROM Week WHERE id = ?;";
+            try {
+                // Fills prepared statement and executes
+                pStatement = connection.prepareStatement(query);
+                pStatement.setInt(1, this.getId());
 
-                    rowsAffected = pStatement.executeUpdate();
+                rowsAffected = pStatement.executeUpdate();
 
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                } finally {
-                    // Closes the prepared statement
-                    if (pStatement != null) {
-                        try {
-                            pStatement.close();
-                        } catch (SQLException e) {
-                            e.printStackTrace();
-                        }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            } finally {
+                // Closes the prepared statement
+                if (pStatement != null) {
+                    try {
+                        pStatement.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
                     }
                 }
             }
         }
+        // Average hours of the user changed
+        HoursBaseline.invalidate();
+        // Events of the deleted days are deleted with them
+        EventIndex.invalidate();
+
         // If deletion was successful, returns true
         return rowsAffected != 0;
     }
@@ -1,12 +1,12 @@
 package core;
 
-import core.enums.Semester;
 import database.Database;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -22,7 +22,7 @@ import java.util.Objects;
  * Class for representing a year in the system
  */
 public class Year {
-    private final int id;
+    private int id;
     private final int userId;
     private final int yearNumber;
     private int credits;
@@ -36,6 +36,14 @@ public class Year {
         return id;
     }
 
+    /**
+     * Setter for year id, used once the year is added to the database.
+     * @param id id to set
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Getter for yearNumber.
      * @return yearNumber
@@ -134,7 +142,7 @@ public class Year {
         Year newYear = null;
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -199,7 +207,7 @@ public class Year {
         ResultSet rs = null;
         try {
             // Prepares the statement
-            pStatement = Database.getConnection().prepareStatement(query);
+            pStatement = Database.getReadConnection().prepareStatement(query);
             pStatement.setInt(1, newYearNumber);
             pStatement.setInt(2, user.getId());
 
@@ -305,6 +313,8 @@ public class Year {
                 }
             }
         }
+        // Grades of the year and above it changed
+        GradeTree.changed(this);
     }
 
     /**
@@ -314,23 +324,7 @@ public class Year {
      * @return overall weighted year grade
      */
     public double getOverallGrade(){
-        List<Module> modules = getAllModules();
-        // No modules added yet
-        if (modules.isEmpty()) return -1;
-
-        double sum = 0;
-        double divisor = 0;
-
-        for(Module module : modules){
-            if(module.getOverallGrade() != -1){
-                sum += module.getOverallGrade() * module.getCredits();
-                divisor += module.getCredits();
-            }
-        }
-
-        // If no scores yet present
-        if(divisor == 0) return -1;
-        else return (double)Math.round((sum/divisor) * 10) / 10;
+        return GradeTree.getYearGrade(userId, yearNumber);
     }
 
     /**
@@ -338,16 +332,7 @@ public class Year {
      * @return % of the Year completed.
      */
     public double getPercentComplete(){
-        List<Module> modules = getAllModules();
-        double credits = 0;
-
-        for(Module module : modules){
-            if(module.getOverallGrade() != -1)
-                credits += module.getCredits() * module.getPercentComplete();
-        }
-
-        if (credits == 0) return 0;
-        return (double)Math.round((credits/this.credits) * 10) / 10;
+        return GradeTree.getYearPercentComplete(userId, yearNumber);
     }
 
     /**
@@ -358,29 +343,7 @@ public class Year {
      * @return grade in %
      */
     public double getSpringGrade(){
-        List<Module> modules = getAllModules();
-        // No modules added yet
-        if (modules.isEmpty()) return -1;
-
-        double sum = 0;
-        double divisor = 0;
-
-        for(Module module : modules){
-            if(module.getOverallGrade() != -1){
-                if(module.getSemester() == Semester.ALL_YEAR){
-                    sum += module.getOverallGrade() * ((double) module.getCredits()/2);
-                    divisor += (double) module.getCredits()/2;
-                }
-                if(module.getSemester() == Semester.SPRING){
-                    sum += module.getOverallGrade() * module.getCredits();
-                    divisor += module.getCredits();
-                }
-            }
-        }
-
-        // If no scores yet present
-        if(divisor == 0) return -1;
-        else return (double)Math.round((sum/divisor) * 10) / 10;
+        return GradeTree.getSpringGrade(userId, yearNumber);
     }
 
     /**
@@ -391,29 +354,7 @@ public class Year {
      * @return grade in %
      */
     public double getAutumnGrade(){
-        List<Module> modules = getAllModules();
-        // No modules added yet
-        if (modules.isEmpty()) return -1;
-
-        double sum = 0;
-        double divisor = 0;
-
-        for(Module module : modules){
-            if(module.getOverallGrade() != -1){
-                if(module.getSemester() == Semester.ALL_YEAR){
-                    sum += module.getOverallGrade() * ((double) module.getCredits()/2);
-                    divisor += (double) module.getCredits()/2;
-                }
-                if(module.getSemester() == Semester.AUTUMN){
-                    sum += module.getOverallGrade() * module.getCredits();
-                    divisor += module.getCredits();
-                }
-            }
-        }
-
-        // If no scores yet present
-        if(divisor == 0) return -1;
-        else return (double)Math.round((sum/divisor) * 10) / 10;
+        return GradeTree.getAutumnGrade(userId, yearNumber);
     }
 
     // Methods concerning Modules of this year
@@ -422,19 +363,22 @@ public class Year {
      * Used when user creates a new module.
      *
      * @param module Module to add
+     *
+     * @return id of the added module, 0 if it could not be added
      */
-    public void addModule(Module module) {
+    public int addModule(Module module) {
         // Checks whether Module already exists in the database
         if (module.getId() == 0) {
             // Gets Database connection
             Connection connection = Database.getConnection();
             PreparedStatement pStatement = null;
+            ResultSet rs = null;
 
             // Sets up the query
             String query = "INSERT INTO Module VALUES(null,?,?,?,?,?,?,?);";
             try {
                 // Fills prepared statement and executes
-                pStatement = connection.prepareStatement(query);
+                pStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
                 pStatement.setInt(1, userId);
                 pStatement.setString(2, module.getCode());
                 pStatement.setString(3, module.getFullName());
@@ -445,10 +389,14 @@ public class Year {
 
                 pStatement.execute();
 
+                // Gets the id of the added module
+                rs = pStatement.getGeneratedKeys();
+                if(rs.next()) module.setId(rs.getInt(1));
+
             } catch (SQLException e) {
                 e.printStackTrace();
             } finally {
-                // Closes the prepared statement
+                // Closes the prepared statement and result set
                 if (pStatement != null) {
                     try {
                         pStatement.close();
@@ -456,8 +404,18 @@ public class Year {
                         e.printStackTrace();
                     }
                 }
+                if (rs != null) {
+                    try {
+                        rs.close();
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
             }
         }
+        // Year has a new module
+        GradeTree.invalidate();
+        return module.getId();
     }
 
     /**
@@ -469,7 +427,7 @@ public class Year {
         ArrayList<Module> modules = new ArrayList<>();
 
         // Gets Database connection
-        Connection connection = Database.getConnection();
+        Connection connection = Database.getReadConnection();
         PreparedStatement pStatement = null;
         ResultSet rs = null;
 
@@ -0,0 +1,184 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which wraps a connection, so its prepared statements are taken from
+ * a StatementCache. Closing such a statement only returns it to the cache, so
+ * it can be reused by the next call with the same SQL. The statements are really closed
+ * when the connection is closed.
+ *
+ * If the connection is given a lock, every statement of the connection holds
+ * it from its creation until it is closed, so only one thread uses the
+ * connection at a time.
+ */
+public class CachingConnection implements InvocationHandler {
+    private final Connection connection;
+    private final StatementCache cache;
+    private final ReentrantLock lock;
+
+    /**
+     * Constructor for CachingConnection.
+     *
+     * @param connection connection to wrap
+     * @param cache cache of the connection's statements
+     * @param lock lock held while the connection is used, null if none is needed
+     */
+    private CachingConnection(Connection connection, StatementCache cache, ReentrantLock lock) {
+        this.connection = connection;
+        this.cache = cache;
+        this.lock = lock;
+    }
+
+    /**
+     * Wraps the given connection so its prepared statements are cached.
+     * The cache can be accessed with connection.unwrap(StatementCache.class).
+     *
+     * @param connection connection to wrap
+     * @param capacity maximum number of statements to cache
+     * @param lock lock held by the statements of the connection, null if none is needed
+     * @return wrapped connection
+     */
+    public static Connection wrap(Connection connection, int capacity, ReentrantLock lock) {
+        StatementCache cache = new StatementCache(connection, capacity);
+        return (Connection) Proxy.newProxyInstance(CachingConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new CachingConnection(connection, cache, lock));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+
+        // Gives access to the statement cache
+        if(name.equals("unwrap") && args[0] == StatementCache.class) return cache;
+        if(name.equals("isWrapperFor") && args[0] == StatementCache.class) return true;
+
+        if(!Statement.class.isAssignableFrom(method.getReturnType())){
+            // Closes the cached statements together with the connection
+            if(name.equals("close")) cache.close();
+            return forward(connection, method, args);
+        }
+
+        if(lock != null) lock.lock();
+        boolean statementCreated = false;
+        try {
+            Object result;
+            // Takes prepared statements from the cache
+            if(name.equals("prepareStatement") && args.length == 1){
+                result = wrapStatement(PreparedStatement.class,
+                        cache.get((String) args[0], Statement.NO_GENERATED_KEYS), cache, lock);
+            }
+            else if(name.equals("prepareStatement") && args.length == 2 && args[1] instanceof Integer){
+                result = wrapStatement(PreparedStatement.class,
+                        cache.get((String) args[0], (Integer) args[1]), cache, lock);
+            }
+            // Other statements are not cached, but still hold the lock until closed
+            else {
+                result = wrapStatement(method.getReturnType(),
+                        (Statement) forward(connection, method, args), null, lock);
+            }
+            statementCreated = true;
+            return result;
+        } finally {
+            // The lock of a created statement is released when the statement is closed
+            if(lock != null && !statementCreated) lock.unlock();
+        }
+    }
+
+    /**
+     * Wraps a statement of the connection, so closing a cached statement only
+     * returns it to the cache and closing any statement releases its lock.
+     *
+     * @param type interface of the statement
+     * @param statement statement to wrap
+     * @param cache cache the statement was checked out from, null if it is not cached
+     * @param lock lock held by the statement, null if none
+     * @return statement which can be closed by the caller
+     */
+    private static Object wrapStatement(Class<?> type, Statement statement, StatementCache cache,
+                                        ReentrantLock lock) {
+        return Proxy.newProxyInstance(CachingConnection.class.getClassLoader(),
+                new Class<?>[]{type}, new ReusableStatement(cache, statement, lock));
+    }
+
+    /**
+     * Calls the method on the real object, unwrapping exceptions thrown by it.
+     *
+     * @param target object to call the method on
+     * @param method method to call
+     * @param args arguments of the method
+     * @return result of the method
+     * @throws Throwable exception thrown by the method
+     */
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Handler of a statement handed out by the connection. Remembers the last
+     * result set, so it can be closed when the statement is "closed".
+     */
+    private static class ReusableStatement implements InvocationHandler {
+        private final StatementCache cache;
+        private final Statement statement;
+        private final ReentrantLock lock;
+        private ResultSet resultSet = null;
+        private boolean closed = false;
+
+        private ReusableStatement(StatementCache cache, Statement statement, ReentrantLock lock) {
+            this.cache = cache;
+            this.statement = statement;
+            this.lock = lock;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if(name.equals("close")){
+                // Returns the statement to the cache instead of closing it
+                if(!closed){
+                    closed = true;
+                    try {
+                        if(resultSet != null && !resultSet.isClosed()) resultSet.close();
+                    } finally {
+                        try {
+                            if(cache != null) cache.release((PreparedStatement) statement);
+                            else statement.close();
+                        } finally {
+                            if(lock != null) lock.unlock();
+                        }
+                    }
+                }
+                return null;
+            }
+            if(name.equals("isClosed")) return closed || statement.isClosed();
+            if(closed) throw new SQLException("Statement is closed.");
+
+            Object result = forward(statement, method, args);
+            // Remembers the result set, so it is closed when the statement is closed
+            if(result instanceof ResultSet && name.equals("executeQuery")) resultSet = (ResultSet) result;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which manages the connections to the SQLite Database.
+ * Keeps a single writer connection and a fixed number of read-only connections,
+ * which can be borrowed by threads other than the JavaFX Application Thread.
+ * Also keeps track of how the read connections are used.
+ */
+public class ConnectionPool {
+    // SQLite open mode flag for read-only connections
+    private final static String READ_ONLY_OPEN_MODE = "1";
+    // Seconds to wait for a connection to answer a health check
+    private final static int HEALTH_CHECK_TIMEOUT = 2;
+    // Seconds to wait for a read connection to become available
+    private final static int BORROW_TIMEOUT = 30;
+    // Milliseconds a connection waits for a lock held by another connection
+    private final static String BUSY_TIMEOUT = "5000";
+    // Deleting a Period relies on its Weeks, Days, Events and Tasks being deleted by foreign keys
+    private final static String FOREIGN_KEYS = "true";
+    // Number of prepared statements cached per connection, can be changed with -Dorganised.statementCache=N
+    private final static int STATEMENT_CACHE_SIZE = Integer.getInteger("organised.statementCache", 100);
+
+    private final String url;
+    private final Properties settings;
+    private Connection writeConnection;
+    private final BlockingQueue<Connection> idleReadConnections;
+    private final AtomicInteger activeReadConnections = new AtomicInteger();
+
+    // Metrics of read connection usage
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalBorrowWait = new AtomicLong();
+    private final AtomicLong maxBorrowWait = new AtomicLong();
+    private final AtomicLong replacedConnections = new AtomicLong();
+    // Statement caches of the open connections of the pool
+    private final List<StatementCache> statementCaches = new CopyOnWriteArrayList<>();
+    // Metrics of the statement caches of the connections, which were replaced or closed
+    private final AtomicLong retiredCacheHits = new AtomicLong();
+    private final AtomicLong retiredCacheMisses = new AtomicLong();
+    private final AtomicLong retiredCacheEvictions = new AtomicLong();
+
+    /**
+     * Constructor for ConnectionPool.
+     * Opens the writer connection and all read-only connections.
+     *
+     * @param url url of the database
+     * @param readConnections number of read-only connections to keep
+     * @param settings SQLite pragmas applied to every connection
+     * @throws SQLException if a connection could not be opened
+     */
+    public ConnectionPool(String url, int readConnections, Properties settings) throws SQLException {
+        if(readConnections < 1)
+            throw new IllegalArgumentException("Connection pool needs at least one read connection");
+        this.url = url;
+        this.settings = settings;
+        this.writeConnection = openWriteConnection();
+        this.idleReadConnections = new ArrayBlockingQueue<>(readConnections);
+        for(int i=0; i<readConnections; i++){
+            idleReadConnections.add(openReadConnection());
+        }
+    }
+
+    /**
+     * Opens a new connection to the database, which can be written to.
+     *
+     * @return new writer connection
+     * @throws SQLException if connection could not be opened
+     */
+    protected Connection openWriteConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.putAll(settings);
+        properties.setProperty("busy_timeout", BUSY_TIMEOUT);
+        properties.setProperty("foreign_keys", FOREIGN_KEYS);
+        return withStatementCache(DriverManager.getConnection(url, properties), Database.getWriterLock());
+    }
+
+    /**
+     * Opens a new read-only connection to the database.
+     *
+     * @return new read-only connection
+     * @throws SQLException if connection could not be opened
+     */
+    protected Connection openReadConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.putAll(settings);
+        // Journal mode is stored in the database file, so only the writer sets it
+        properties.remove("journal_mode");
+        properties.setProperty("busy_timeout", BUSY_TIMEOUT);
+        properties.setProperty("foreign_keys", FOREIGN_KEYS);
+        properties.setProperty("open_mode", READ_ONLY_OPEN_MODE);
+        return withStatementCache(DriverManager.getConnection(url, properties), null);
+    }
+
+    /**
+     * Wraps a newly opened connection, so its prepared statements are cached.
+     *
+     * @param connection connection to wrap
+     * @param lock lock taken by the statements of the connection, null if none is needed
+     * @return connection with a statement cache
+     * @throws SQLException if statement cache could not be accessed
+     */
+    private Connection withStatementCache(Connection connection, ReentrantLock lock) throws SQLException {
+        Connection cached = CachingConnection.wrap(connection, STATEMENT_CACHE_SIZE, lock);
+        statementCaches.add(cached.unwrap(StatementCache.class));
+        return cached;
+    }
+
+    /**
+     * Closes a connection of the pool and forgets its statement cache,
+     * keeping the metrics of the cache.
+     *
+     * @param connection connection to close
+     */
+    private void closeConnection(Connection connection) {
+        try {
+            StatementCache cache = connection.unwrap(StatementCache.class);
+            if(statementCaches.remove(cache)){
+                retiredCacheHits.addAndGet(cache.getHits());
+                retiredCacheMisses.addAndGet(cache.getMisses());
+                retiredCacheEvictions.addAndGet(cache.getEvictions());
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Getter for the writer connection. If the writer connection is no longer
+     * healthy, replaces it with a new one.
+     *
+     * @return writer connection
+     */
+    public synchronized Connection getWriteConnection() {
+        try {
+            if(writeConnection.isClosed()) {
+                closeConnection(writeConnection);
+                writeConnection = openWriteConnection();
+                replacedConnections.incrementAndGet();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return writeConnection;
+    }
+
+    /**
+     * Borrows a read-only connection from the pool. Waits until one is available.
+     * The connection is checked before it is handed out and replaced if it is broken.
+     * Every borrowed connection has to be returned with releaseReadConnection().
+     *
+     * @return read-only connection
+     * @throws SQLException if no connection became available in time
+     */
+    public Connection borrowReadConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection;
+        try {
+            connection = idleReadConnections.poll(BORROW_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted whilst waiting for a read connection.", e);
+        }
+        if(connection == null)
+            throw new SQLException("No read connection available after " + BORROW_TIMEOUT + " seconds.");
+
+        // Records how long the borrowing thread had to wait
+        long waited = System.nanoTime() - start;
+        borrowCount.incrementAndGet();
+        totalBorrowWait.addAndGet(waited);
+        maxBorrowWait.accumulateAndGet(waited, Math::max);
+
+        activeReadConnections.incrementAndGet();
+        try {
+            // Replaces the connection if it failed the health check
+            if(!isHealthy(connection)) connection = replace(connection);
+        } catch (SQLException e) {
+            activeReadConnections.decrementAndGet();
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Returns a borrowed read-only connection to the pool.
+     *
+     * @param connection connection to return
+     */
+    public void releaseReadConnection(Connection connection) {
+        activeReadConnections.decrementAndGet();
+        try {
+            // Restores the default state in case the borrower left a transaction open
+            if(!connection.isClosed() && !connection.getAutoCommit()){
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        idleReadConnections.offer(connection);
+    }
+
+    /**
+     * Checks all idle connections and the writer connection, replacing the broken ones.
+     *
+     * @return number of connections which had to be replaced
+     */
+    public int checkHealth() {
+        int replaced = 0;
+
+        // Checks the writer connection
+        synchronized (this) {
+            if(!isHealthy(writeConnection)){
+                try {
+                    closeConnection(writeConnection);
+                    writeConnection = openWriteConnection();
+                    replacedConnections.incrementAndGet();
+                    replaced++;
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        // Checks the read connections, which are not borrowed at the moment
+        List<Connection> idle = new ArrayList<>();
+        idleReadConnections.drainTo(idle);
+        for(Connection connection : idle){
+            if(!isHealthy(connection)){
+                try {
+                    connection = replace(connection);
+                    replaced++;
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            idleReadConnections.offer(connection);
+        }
+        return replaced;
+    }
+
+    /**
+     * Checks whether the given connection is open and answers queries.
+     *
+     * @param connection connection to check
+     * @return true if connection can be used, false otherwise
+     */
+    private boolean isHealthy(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(HEALTH_CHECK_TIMEOUT);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes a broken read-only connection and opens a new one instead.
+     *
+     * @param broken connection to replace
+     * @return new read-only connection
+     * @throws SQLException if new connection could not be opened
+     */
+    private Connection replace(Connection broken) throws SQLException {
+        closeConnection(broken);
+        replacedConnections.incrementAndGet();
+        return openReadConnection();
+    }
+
+    /**
+     * Closes all connections of the pool.
+     */
+    public synchronized void close() {
+        List<Connection> idle = new ArrayList<>();
+        idleReadConnections.drainTo(idle);
+        idle.add(writeConnection);
+        for(Connection connection : idle) closeConnection(connection);
+    }
+
+    /**
+     * Getter for the number of read connections which are currently borrowed.
+     * @return number of borrowed read connections
+     */
+    public int getActiveReadConnections() {
+        return activeReadConnections.get();
+    }
+
+    /**
+     * Getter for the number of read connections which are waiting to be borrowed.
+     * @return number of idle read connections
+     */
+    public int getIdleReadConnections() {
+        return idleReadConnections.size();
+    }
+
+    /**
+     * Getter for the number of times a read connection was borrowed.
+     * @return number of borrows
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * Getter for the average time a thread waited for a read connection.
+     * @return average wait time in milliseconds
+     */
+    public double getAverageBorrowWaitMillis() {
+        long borrows = borrowCount.get();
+        if(borrows == 0) return 0;
+        return totalBorrowWait.get() / (double) borrows / 1000000.0;
+    }
+
+    /**
+     * Getter for the longest time a thread waited for a read connection.
+     * @return longest wait time in milliseconds
+     */
+    public double getMaxBorrowWaitMillis() {
+        return maxBorrowWait.get() / 1000000.0;
+    }
+
+    /**
+     * Getter for the number of connections, which were replaced after failing a health check.
+     * @return number of replaced connections
+     */
+    public long getReplacedConnections() {
+        return replacedConnections.get();
+    }
+
+    /**
+     * Getter for the number of prepared statements reused from the caches of all connections.
+     * @return number of statement cache hits
+     */
+    public long getStatementCacheHits() {
+        long hits = retiredCacheHits.get();
+        for(StatementCache cache : statementCaches) hits += cache.getHits();
+        return hits;
+    }
+
+    /**
+     * Getter for the number of prepared statements, which had to be compiled by all connections.
+     * @return number of statement cache misses
+     */
+    public long getStatementCacheMisses() {
+        long misses = retiredCacheMisses.get();
+        for(StatementCache cache : statementCaches) misses += cache.getMisses();
+        return misses;
+    }
+
+    /**
+     * Getter for the number of prepared statements closed to make room in the caches.
+     * @return number of statement cache evictions
+     */
+    public long getStatementCacheEvictions() {
+        long evictions = retiredCacheEvictions.get();
+        for(StatementCache cache : statementCaches) evictions += cache.getEvictions();
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active: %d, idle: %d, borrows: %d, average wait: %.3f ms, " +
+                        "max wait: %.3f ms, replaced: %d", getActiveReadConnections(), getIdleReadConnections(),
+                getBorrowCount(), getAverageBorrowWaitMillis(), getMaxBorrowWaitMillis(), getReplacedConnections());
+    }
+}
@@ -1,8 +1,17 @@
 package database;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Organised.
@@ -13,49 +22,362 @@ import java.sql.SQLException;
  * found in the LICENSE file in the root directory of this source tree.
  *
  * Class which handles Database initialization and connections.
+ *
+ * All writes go through a single writer connection. Threads other than the
+ * JavaFX Application Thread can borrow one of the read-only connections to
+ * query the database at the same time.
+ *
+ * Only one thread uses the writer connection at a time. A statement of the
+ * writer connection holds the writer lock until it is closed and a transaction
+ * holds it until it is committed or rolled back, so writes of other threads
+ * never become part of another thread's transaction.
  */
 public class Database {
-    private final static String URL = "jdbc:sqlite::resource:database/organisedDB.db";
-    private static Connection connection = null;
+    private final static String RESOURCE = "/database/organisedDB.db";
+    private final static String RESOURCE_URL = "jdbc:sqlite::resource:database/organisedDB.db";
+    // Directory the bundled database is copied to on first run, can be changed with -Dorganised.dataDir=path.
+    // If set to an empty path, the bundled database is used directly.
+    private final static String DATA_DIRECTORY = System.getProperty("organised.dataDir",
+            System.getProperty("user.home") + File.separator + ".organised");
+    // Number of read-only connections, can be changed with -Dorganised.readConnections=N
+    private final static int READ_CONNECTIONS = Integer.getInteger("organised.readConnections", 2);
+    // SQLite settings of the connections, can be replaced with -Dorganised.databaseProperties=path
+    private final static String SETTINGS_RESOURCE = "/database/database.properties";
+    // Pragmas which are logged after the connection is opened
+    private final static String[] LOGGED_PRAGMAS = {"journal_mode", "synchronous", "cache_size", "mmap_size", "temp_store"};
+
+    private static String url = RESOURCE_URL;
+    private static ConnectionPool pool = null;
+    // Read connection borrowed by the current thread and how many times it was borrowed
+    private static final ThreadLocal<Connection> borrowedConnection = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> borrowDepth = ThreadLocal.withInitial(() -> 0);
+    // Number of nested snapshots read on the borrowed connection of the current thread
+    private static final ThreadLocal<Integer> snapshotDepth = ThreadLocal.withInitial(() -> 0);
+    // Held by the thread which uses the writer connection, by its open statements and transactions
+    private static final ReentrantLock writerLock = new ReentrantLock();
+    // Number of nested transactions of the thread holding the writer lock
+    private static int transactionDepth = 0;
+    private static boolean rolledBack = false;
 
     /**
      * Opens a connection to the SQLite Database
      */
     public static void openConnection() {
         try{
-            connection = DriverManager.getConnection(URL);
+            url = locateDatabase();
+            pool = new ConnectionPool(url, READ_CONNECTIONS, loadSettings());
         }
         catch (Exception ex) {
             ex.printStackTrace();
         }
-        System.out.println("Connection opened to " + URL);
+        System.out.println("Connection opened to " + url);
+        if(pool != null) {
+            logSettings();
+            try {
+                new MigrationRunner(getConnection()).migrate();
+            } catch (SQLException | IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Finds the database file to connect to. Copies the bundled database to the
+     * data directory on first run, so it can be written to and upgraded.
+     * Falls back to the bundled database if the copy can't be made.
+     *
+     * @return url of the database
+     */
+    private static String locateDatabase() {
+        if(DATA_DIRECTORY.isEmpty()) return RESOURCE_URL;
+        Path file = Paths.get(DATA_DIRECTORY, "organisedDB.db");
+        try {
+            if(MigrationRunner.install(RESOURCE, file))
+                System.out.println("Database copied to " + file);
+            return "jdbc:sqlite:" + file;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return RESOURCE_URL;
+        }
+    }
+
+    /**
+     * Loads the SQLite settings of the connections. Uses the file given with
+     * -Dorganised.databaseProperties if present, the bundled settings otherwise.
+     *
+     * @return SQLite pragmas to apply to every connection
+     */
+    private static Properties loadSettings() {
+        Properties settings = new Properties();
+        String path = System.getProperty("organised.databaseProperties");
+        try (InputStream in = path != null ? new FileInputStream(path) :
+                Database.class.getResourceAsStream(SETTINGS_RESOURCE)) {
+            if(in != null) settings.load(in);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return settings;
     }
 
     /**
-     * Closes the connection stored by Database.connection.
+     * Prints the pragmas in effect on the writer connection.
+     */
+    private static void logSettings() {
+        StringBuilder effective = new StringBuilder("Database settings:");
+        try (Statement statement = getConnection().createStatement()) {
+            for(String pragma : LOGGED_PRAGMAS){
+                try (ResultSet rs = statement.executeQuery("PRAGMA " + pragma)) {
+                    if(rs.next()) effective.append(" ").append(pragma).append("=").append(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        System.out.println(effective);
+    }
+
+    /**
+     * Closes all connections stored by Database.pool.
      */
     public static void closeConnection() {
-        if(connection == null) {
+        if(pool == null) {
             // If no connection to close, throw error
             throw new RuntimeException("Current connection is null, no database connection to close.");
         }else {
-            try {
-                connection.close();
-                System.out.println("Connection closed from " + URL);
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+            System.out.println("Read connections: " + pool);
+            System.out.println("Statement cache: hits: " + pool.getStatementCacheHits() +
+                    ", misses: " + pool.getStatementCacheMisses() +
+                    ", evictions: " + pool.getStatementCacheEvictions());
+            pool.close();
+            pool = null;
+            System.out.println("Connection closed from " + url);
         }
     }
 
     /**
-     * Getter for Database.connection, only returns if a connection has already been previously opened.
+     * Getter for the writer connection, only returns if a connection has already been previously opened.
      *
      * @return Connection instance
      */
     public static Connection getConnection() {
         // If no connection is present, throw exception
+        if(pool != null) return pool.getWriteConnection();
+        else {
+            throw new RuntimeException("Current connection is null. Start with Database.openConnection()");
+        }
+    }
+
+    /**
+     * Starts a transaction on the writer connection. Other threads can't start a
+     * transaction until it is committed or rolled back. If the current thread already
+     * has a transaction open, the new one becomes part of it and is only committed
+     * together with the outermost transaction.
+     * Every call has to be matched with a call to commitTransaction() or rollbackTransaction().
+     *
+     * @throws SQLException if transaction could not be started
+     */
+    public static void beginTransaction() throws SQLException {
+        writerLock.lock();
+        if(transactionDepth == 0) {
+            try {
+                rolledBack = false;
+                getConnection().setAutoCommit(false);
+            } catch (SQLException | RuntimeException e) {
+                writerLock.unlock();
+                throw e;
+            }
+        }
+        transactionDepth++;
+    }
+
+    /**
+     * Commits the transaction of the current thread once the outermost transaction
+     * is committed. If committing fails, the transaction stays open and has to be
+     * rolled back with rollbackTransaction().
+     *
+     * @throws SQLException if transaction could not be committed or was already rolled back
+     */
+    public static void commitTransaction() throws SQLException {
+        if(!isTransactionOpen())
+            throw new IllegalStateException("No transaction to commit. Start with Database.beginTransaction()");
+        // Once a nested transaction is rolled back, none of the transactions it is part of can be committed
+        if(rolledBack) throw new SQLException("Transaction was rolled back.");
+
+        Connection connection = getConnection();
+        if(transactionDepth == 1) connection.commit();
+        try {
+            if(--transactionDepth == 0) connection.setAutoCommit(true);
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * Rolls back the transaction of the current thread, including all of the
+     * transactions it is part of. Nested transactions are only marked as rolled back,
+     * the changes are rolled back once the outermost transaction is rolled back.
+     */
+    public static void rollbackTransaction() {
+        if(!isTransactionOpen()) return;
+        rolledBack = true;
+        try {
+            if(--transactionDepth == 0){
+                Connection connection = getConnection();
+                try {
+                    connection.rollback();
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * Getter for a connection which should be used for queries.
+     * Returns the read connection borrowed by the current thread, or
+     * the writer connection if the current thread has not borrowed one.
+     *
+     * @return Connection instance
+     */
+    public static Connection getReadConnection() {
+        Connection connection = borrowedConnection.get();
         if(connection != null) return connection;
+        else return getConnection();
+    }
+
+    /**
+     * Borrows a read-only connection for the current thread. Until it is released,
+     * all queries of the current thread run on that connection.
+     * Every call has to be matched with a call to releaseReadConnection().
+     *
+     * @throws SQLException if no read connection became available
+     */
+    public static void borrowReadConnection() throws SQLException {
+        if(pool == null)
+            throw new RuntimeException("Current connection is null. Start with Database.openConnection()");
+
+        // Borrows a new connection only if the thread doesn't have one yet
+        if(borrowedConnection.get() == null) borrowedConnection.set(pool.borrowReadConnection());
+        borrowDepth.set(borrowDepth.get()+1);
+    }
+
+    /**
+     * Releases the read-only connection borrowed by the current thread.
+     */
+    public static void releaseReadConnection() {
+        Connection connection = borrowedConnection.get();
+        if(connection == null) return;
+
+        // Returns the connection to the pool once the outermost borrow is released
+        int depth = borrowDepth.get()-1;
+        borrowDepth.set(depth);
+        if(depth == 0){
+            borrowedConnection.remove();
+            if(pool != null) pool.releaseReadConnection(connection);
+        }
+    }
+
+    /**
+     * Starts reading one snapshot of the database on the connection returned by
+     * getReadConnection(). If the current thread has not borrowed a read connection,
+     * a transaction is started on the writer connection instead, so other threads
+     * can't write until the snapshot ends.
+     * Every call has to be matched with a call to endSnapshot().
+     *
+     * @return connection to read the snapshot from
+     * @throws SQLException if the snapshot could not be started
+     */
+    public static Connection beginSnapshot() throws SQLException {
+        Connection connection = borrowedConnection.get();
+        if(connection == null){
+            beginTransaction();
+            return getConnection();
+        }
+
+        // Nested snapshots read from the outermost one
+        int depth = snapshotDepth.get();
+        if(depth == 0) connection.setAutoCommit(false);
+        snapshotDepth.set(depth+1);
+        return connection;
+    }
+
+    /**
+     * Ends the snapshot of the current thread once the outermost snapshot is ended.
+     *
+     * @throws SQLException if the snapshot could not be ended
+     */
+    public static void endSnapshot() throws SQLException {
+        Connection connection = borrowedConnection.get();
+        if(connection == null){
+            try {
+                commitTransaction();
+            } catch (SQLException e) {
+                rollbackTransaction();
+                throw e;
+            }
+            return;
+        }
+
+        int depth = snapshotDepth.get()-1;
+        snapshotDepth.set(depth);
+        if(depth == 0){
+            try {
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the current thread has a transaction open on the writer connection.
+     *
+     * @return true if the current thread has a transaction open, false otherwise
+     */
+    public static boolean isTransactionOpen() {
+        return writerLock.isHeldByCurrentThread() && transactionDepth > 0;
+    }
+
+    /**
+     * Getter for the lock of the writer connection. Taken by every statement
+     * of the writer connection until it is closed.
+     *
+     * @return writer lock
+     */
+    static ReentrantLock getWriterLock() {
+        return writerLock;
+    }
+
+    /**
+     * Getter for the directory the database is kept in.
+     *
+     * @return data directory or null if the bundled database is used directly
+     */
+    public static Path getDataDirectory() {
+        if(DATA_DIRECTORY.isEmpty()) return null;
+        return Paths.get(DATA_DIRECTORY);
+    }
+
+    /**
+     * Getter for the number of read connections, which can be borrowed at the same time.
+     *
+     * @return number of read connections
+     */
+    public static int getReadConnections() {
+        return READ_CONNECTIONS;
+    }
+
+    /**
+     * Getter for the connection pool, used for checking its health and metrics.
+     *
+     * @return ConnectionPool instance
+     */
+    public static ConnectionPool getPool() {
+        if(pool != null) return pool;
         else {
             throw new RuntimeException("Current connection is null. Start with Database.openConnection()");
         }
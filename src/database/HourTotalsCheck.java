@@ -0,0 +1,104 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Diagnostic which checks, that the hour totals kept in Week and Period
+ * match the hours of their Day rows. When run with --repair, rebuilds the
+ * totals from the Day rows. Exits with status 1 if any total is wrong
+ * and was not repaired.
+ */
+public class HourTotalsCheck {
+    // Weeks and periods, whose total doesn't match the sum of their days
+    private final static String[] QUERIES = {
+            "SELECT 'Week', Week.id, Week.hoursSpent, COALESCE(SUM(Day.hoursSpent), 0) AS actual " +
+                    "FROM Week LEFT JOIN Day ON Day.weekId = Week.id " +
+                    "GROUP BY Week.id HAVING Week.hoursSpent <> actual",
+            "SELECT 'Period', Period.id, Period.hoursSpent, COALESCE(SUM(Day.hoursSpent), 0) AS actual " +
+                    "FROM Period LEFT JOIN Week ON Week.periodId = Period.id " +
+                    "LEFT JOIN Day ON Day.weekId = Week.id " +
+                    "GROUP BY Period.id HAVING Period.hoursSpent <> actual"
+    };
+    // Rebuilds the totals of weeks first, as the totals of periods are summed from them
+    private final static String[] REBUILD = {
+            "UPDATE Week SET hoursSpent = (SELECT COALESCE(SUM(hoursSpent), 0) FROM Day WHERE Day.weekId = Week.id)",
+            "UPDATE Period SET hoursSpent = (SELECT COALESCE(SUM(hoursSpent), 0) FROM Week WHERE Week.periodId = Period.id)"
+    };
+
+    /**
+     * Runs the check against the database, repairing the totals if asked.
+     *
+     * @param args --repair to rebuild wrong totals
+     */
+    public static void main(String[] args) {
+        boolean repair = args.length > 0 && args[0].equals("--repair");
+
+        Database.openConnection();
+        int wrong = check(Database.getConnection());
+        if(wrong > 0 && repair){
+            rebuild();
+            wrong = check(Database.getConnection());
+        }
+        Database.closeConnection();
+
+        System.out.println(wrong == 0 ? "All hour totals match their days." : wrong + " hour totals don't match their days.");
+        if(wrong > 0) System.exit(1);
+    }
+
+    /**
+     * Prints every week and period, whose total doesn't match its days.
+     *
+     * @param connection connection to the database
+     * @return number of wrong totals
+     */
+    public static int check(Connection connection) {
+        int wrong = 0;
+        try (Statement statement = connection.createStatement()) {
+            for(String query : QUERIES){
+                try (ResultSet rs = statement.executeQuery(query)) {
+                    while(rs.next()){
+                        wrong++;
+                        System.out.println("WRONG  " + rs.getString(1) + " " + rs.getInt(2) +
+                                ": total " + rs.getInt(3) + "h, days " + rs.getInt(4) + "h");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            wrong++;
+        }
+        return wrong;
+    }
+
+    /**
+     * Rebuilds the totals of all weeks and periods from the Day rows in one transaction.
+     *
+     * @return true if successful, false otherwise
+     */
+    public static boolean rebuild() {
+        try {
+            Database.beginTransaction();
+            try (Statement statement = Database.getConnection().createStatement()) {
+                for(String sql : REBUILD){
+                    statement.executeUpdate(sql);
+                }
+            }
+            Database.commitTransaction();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            Database.rollbackTransaction();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.regex.Pattern;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which upgrades the database schema with the migration scripts
+ * in database/migrations. The version of the schema is kept in
+ * PRAGMA user_version. Every script runs in its own transaction together
+ * with the version change, so a failed upgrade leaves the previous version.
+ * Foreign keys are not enforced whilst a script runs, so tables can be rebuilt,
+ * but they are checked before the transaction is committed.
+ */
+public class MigrationRunner {
+    private final static String MIGRATIONS_PATH = "/database/migrations/";
+    // Migration scripts in order, the script at index i upgrades the schema to version i+1
+    private final static String[] MIGRATIONS = {
+            "1_lookup_indexes.sql",
+            "2_cascading_deletes.sql",
+            "3_hour_totals.sql"
+    };
+    // Start of a trigger and the END of its body, which contains several statements
+    private final static Pattern TRIGGER_START = Pattern.compile("CREATE\\s+(TEMP\\s+|TEMPORARY\\s+)?TRIGGER\\b", Pattern.CASE_INSENSITIVE);
+    private final static Pattern TRIGGER_END = Pattern.compile("\\bEND$", Pattern.CASE_INSENSITIVE);
+
+    private final Connection connection;
+
+    /**
+     * Constructor for MigrationRunner.
+     *
+     * @param connection writer connection to the database
+     */
+    public MigrationRunner(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Getter for the schema version of the database.
+     *
+     * @return current schema version
+     * @throws SQLException if version could not be read
+     */
+    public int getVersion() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Getter for the schema version, which the database is upgraded to.
+     *
+     * @return latest schema version
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.length;
+    }
+
+    /**
+     * Applies all migrations, which the database has not been upgraded with yet.
+     * Stops at the first migration which fails.
+     *
+     * @return number of applied migrations
+     * @throws SQLException if a migration failed
+     * @throws IOException if a migration script could not be read
+     */
+    public int migrate() throws SQLException, IOException {
+        int version = getVersion();
+        int applied = 0;
+        for(int i=version; i<MIGRATIONS.length; i++){
+            long start = System.nanoTime();
+            apply(MIGRATIONS[i], i+1);
+            applied++;
+            System.out.printf("Database upgraded to version %d with %s in %.1f ms%n",
+                    i+1, MIGRATIONS[i], (System.nanoTime() - start) / 1000000.0);
+        }
+        return applied;
+    }
+
+    /**
+     * Runs a migration script and sets the new version in one transaction.
+     *
+     * @param script name of the migration script
+     * @param version version the script upgrades to
+     * @throws SQLException if the script failed, after the transaction is rolled back
+     * @throws IOException if the script could not be read
+     */
+    private void apply(String script, int version) throws SQLException, IOException {
+        List<String> statements = readScript(MIGRATIONS_PATH + script);
+        try (Statement statement = connection.createStatement()) {
+            // Foreign keys can only be turned off outside of a transaction
+            statement.execute("PRAGMA foreign_keys = OFF");
+            connection.setAutoCommit(false);
+            try {
+                for(String sql : statements){
+                    statement.execute(sql);
+                }
+                checkForeignKeys(statement);
+                statement.execute("PRAGMA user_version = " + version);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+                statement.execute("PRAGMA foreign_keys = ON");
+            }
+        }
+    }
+
+    /**
+     * Checks that the migration didn't leave rows referencing rows, which don't exist.
+     *
+     * @param statement statement of the migration transaction
+     * @throws SQLException if a foreign key is violated
+     */
+    private void checkForeignKeys(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("PRAGMA foreign_key_check")) {
+            if(rs.next())
+                throw new SQLException("Foreign key violated in table " + rs.getString("table") +
+                        " by row " + rs.getLong("rowid") + ".");
+        }
+    }
+
+    /**
+     * Reads an SQL script from the resources and splits it into statements.
+     * The body of a trigger stays in the statement which creates the trigger.
+     *
+     * @param resource path of the script
+     * @return statements of the script
+     * @throws IOException if script could not be read
+     */
+    static List<String> readScript(String resource) throws IOException {
+        InputStream in = MigrationRunner.class.getResourceAsStream(resource);
+        if(in == null) throw new IOException("Migration script " + resource + " not found.");
+
+        List<String> statements = new ArrayList<>();
+        try (Scanner scanner = new Scanner(in, "UTF-8")) {
+            scanner.useDelimiter(";");
+            StringBuilder trigger = new StringBuilder();
+            while(scanner.hasNext()){
+                // Skips comment lines and empty statements
+                String sql = scanner.next().replaceAll("(?m)^\\s*--.*$", "").trim();
+                if(sql.isEmpty()) continue;
+
+                // Statements in the body of a trigger are kept together until its END
+                if(trigger.length() > 0 || TRIGGER_START.matcher(sql).lookingAt()){
+                    trigger.append(sql).append(";\n");
+                    if(!TRIGGER_END.matcher(sql).find()) continue;
+                    sql = trigger.substring(0, trigger.length() - 2);
+                    trigger.setLength(0);
+                }
+                statements.add(sql);
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * Copies the database bundled with the application to the given file,
+     * unless the file already exists. The copy is written next to the file
+     * first and then moved into place, so an interrupted copy is never used.
+     *
+     * @param resource path of the bundled database
+     * @param target file to copy the database to
+     * @return true if database was copied, false if file already existed
+     * @throws IOException if database could not be copied
+     */
+    public static boolean install(String resource, Path target) throws IOException {
+        if(Files.exists(target)) return false;
+
+        InputStream in = MigrationRunner.class.getResourceAsStream(resource);
+        if(in == null) throw new IOException("Bundled database " + resource + " not found.");
+
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, "organisedDB", ".tmp");
+        try (InputStream bundled = in) {
+            Files.copy(bundled, temporary, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return true;
+    }
+}
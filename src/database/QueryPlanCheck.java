@@ -0,0 +1,131 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Diagnostic which checks with EXPLAIN QUERY PLAN, that the lookup queries
+ * of the core classes use an index instead of scanning the whole table.
+ * Exits with status 1 if any of the queries falls back to a table scan.
+ */
+public class QueryPlanCheck {
+    // Queries of the core classes, which filter by the indexed columns
+    private final static String[] QUERIES = {
+            "SELECT * FROM User WHERE username = ?",
+            "SELECT * FROM Year WHERE userId = ?;",
+            "SELECT * FROM Year WHERE userId = ? AND yearNumber = ?;",
+            "SELECT * FROM Year WHERE yearNumber = ? AND userId = ?",
+            "SELECT * FROM Module WHERE userId = ? AND studyYear = ?;",
+            "SELECT * FROM Module WHERE code = ? AND userId = ?",
+            "SELECT COUNT(userId) FROM Module WHERE userId = ?;",
+            "SELECT * FROM Module WHERE userId = ?;",
+            "SELECT * FROM Assignment WHERE userId = ? AND moduleCode = ?;",
+            "SELECT COUNT(userId) FROM Assignment WHERE userId = ?;",
+            "SELECT * FROM Assignment WHERE userId = ?;",
+            "SELECT * FROM Period WHERE userId = ?;",
+            "SELECT * FROM Week WHERE periodId = ? AND userId = ?;",
+            "SELECT * FROM Week WHERE periodId = ? AND userId = ? ORDER BY id;",
+            "SELECT id, hoursSpent FROM Week WHERE userId = ?;",
+            "SELECT * FROM Day WHERE weekId = ? AND userId = ?;",
+            "SELECT * FROM Event WHERE dayId = ? AND userId = ?;",
+            "SELECT COUNT(userId) FROM Event WHERE userId = ?;",
+            "SELECT * FROM Task WHERE weekId = ? AND userId = ?;",
+            "SELECT COUNT(userId) FROM Task WHERE userId = ?;",
+            "SELECT Day.* FROM Week CROSS JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                    "WHERE Week.periodId = ? AND Week.userId = ? ORDER BY Day.id;",
+            "SELECT Event.* FROM Week CROSS JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                    "CROSS JOIN Event ON Event.dayId = Day.id AND Event.userId = Day.userId " +
+                    "WHERE Week.periodId = ? AND Week.userId = ? ORDER BY Event.id;",
+            "SELECT Task.* FROM Week CROSS JOIN Task ON Task.weekId = Week.id AND Task.userId = Week.userId " +
+                    "WHERE Week.periodId = ? AND Week.userId = ? ORDER BY Task.id;",
+            "SELECT Week.periodId, Week.userId FROM Day CROSS JOIN Week ON Week.id = Day.weekId WHERE Day.id = ?;",
+            "SELECT Day.id, Day.weekId, Day.date FROM Week " +
+                    "CROSS JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                    "WHERE Week.periodId = ? AND Week.userId = ?;",
+            "SELECT Event.id, Event.dayId, Event.startTime, Event.endTime FROM Week " +
+                    "CROSS JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                    "CROSS JOIN Event ON Event.dayId = Day.id AND Event.userId = Day.userId " +
+                    "WHERE Week.periodId = ? AND Week.userId = ?;",
+            "SELECT " +
+                    "(SELECT COUNT(*) FROM Assignment WHERE userId = ?) AS assignments, " +
+                    "(SELECT COUNT(*) FROM Module WHERE userId = ?) AS modules, " +
+                    "(SELECT COUNT(*) FROM Event WHERE userId = ?) AS events, " +
+                    "(SELECT COUNT(*) FROM Task WHERE userId = ?) AS tasks, " +
+                    "(SELECT COUNT(*) FROM Task WHERE userId = ? AND status = 'Yes') AS completedTasks, " +
+                    "(SELECT COALESCE(SUM(minutesLeft), 0) FROM Period WHERE userId = ?) AS minutesLeft;",
+            "SELECT Period.associatedYear, Period.name, Week.id, Week.weekNumber, Week.hoursSpent AS hours " +
+                    "FROM Period " +
+                    "JOIN Week ON Week.periodId = Period.id AND Week.userId = Period.userId " +
+                    "WHERE Period.userId = ? " +
+                    "ORDER BY Period.id, Week.id;",
+            "SELECT Period.id, Period.associatedYear, Period.name, COUNT(Event.id) AS events " +
+                    "FROM Period " +
+                    "LEFT JOIN Week ON Week.periodId = Period.id AND Week.userId = Period.userId " +
+                    "LEFT JOIN Day ON Day.weekId = Week.id AND Day.userId = Week.userId " +
+                    "LEFT JOIN Event ON Event.dayId = Day.id AND Event.userId = Day.userId " +
+                    "WHERE Period.userId = ? " +
+                    "GROUP BY Period.id ORDER BY Period.id;",
+            // Deletions of User.deleteYears, with a chunk of two ids
+            "DELETE FROM Assignment WHERE userId = ? AND moduleCode IN (" +
+                    "SELECT code FROM Module WHERE userId = ? AND studyYear IN (" +
+                    "SELECT yearNumber FROM Year WHERE userId = ? AND id IN (?,?)));",
+            "DELETE FROM Module WHERE userId = ? AND studyYear IN (" +
+                    "SELECT yearNumber FROM Year WHERE userId = ? AND id IN (?,?));",
+            "DELETE FROM Year WHERE userId = ? AND id IN (?,?);"
+    };
+
+    /**
+     * Runs the check against the bundled database.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        Database.openConnection();
+        int scans = check(Database.getConnection());
+        Database.closeConnection();
+
+        System.out.println(scans == 0 ? "All queries use an index." : scans + " queries scan a whole table.");
+        if(scans > 0) System.exit(1);
+    }
+
+    /**
+     * Prints the plan of every query and counts the ones which scan a whole table.
+     *
+     * @param connection connection to the database
+     * @return number of queries which scan a table
+     */
+    public static int check(Connection connection) {
+        int scans = 0;
+        try (Statement statement = connection.createStatement()) {
+            for(String query : QUERIES){
+                boolean scan = false;
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN QUERY PLAN " + query)) {
+                    while(rs.next()){
+                        String detail = rs.getString("detail");
+                        plan.append(" ").append(detail);
+                        // Scans which don't go through an index read the whole table,
+                        // the constant row of a select without a table reads none
+                        if(detail.startsWith("SCAN") && !detail.contains("INDEX")
+                                && !detail.equals("SCAN CONSTANT ROW")) scan = true;
+                    }
+                }
+                if(scan) scans++;
+                System.out.println((scan ? "SCAN   " : "OK     ") + query + " ->" + plan);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            scans++;
+        }
+        return scans;
+    }
+}
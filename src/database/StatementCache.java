@@ -0,0 +1,175 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Organised.
+ * Copyright (c) 2021, Agne Knietaite
+ * All rights reserved.
+ *
+ * This source code is licensed under the GNU General Public License, Version 3
+ * found in the LICENSE file in the root directory of this source tree.
+ *
+ * Class which keeps the compiled prepared statements of a single connection,
+ * so the same SQL does not have to be parsed by SQLite every time it is run.
+ * Least recently used statements are closed once the cache is full.
+ *
+ * A statement is checked out until it is released, so one statement is never
+ * used by two callers at once. If the cached statement of the SQL is checked
+ * out, e.g. by a query whose result set is still open, the caller gets a new
+ * statement, which is closed when it is released.
+ */
+public class StatementCache {
+    private final Connection connection;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    // Statements handed out and not released yet
+    private final Set<PreparedStatement> checkedOut = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Checked out statements, which were removed from the cache and are closed once released
+    private final Set<PreparedStatement> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Constructor for StatementCache.
+     *
+     * @param connection connection the statements are prepared on
+     * @param capacity maximum number of statements to keep
+     */
+    public StatementCache(Connection connection, int capacity) {
+        if(capacity < 1)
+            throw new IllegalArgumentException("Statement cache capacity has to be at least 1");
+        this.connection = connection;
+        // Access ordered map, so the eldest entry is the least recently used one
+        this.statements = new LinkedHashMap<String, PreparedStatement>(capacity, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if(size() > capacity){
+                    evictions++;
+                    // Statements still in use are closed once they are released
+                    if(checkedOut.contains(eldest.getValue())) evicted.add(eldest.getValue());
+                    else closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Checks out the compiled statement for the given SQL, preparing it if
+     * it is not in the cache yet. If the cached statement is checked out,
+     * prepares a new statement, which isn't cached.
+     * Every statement has to be returned with release().
+     *
+     * @param sql SQL of the statement
+     * @param autoGeneratedKeys whether generated keys should be returned
+     * @return compiled statement
+     * @throws SQLException if statement could not be prepared
+     */
+    public synchronized PreparedStatement get(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + sql;
+        PreparedStatement statement = statements.get(key);
+
+        // Prepares the statement again if it is not cached or was closed
+        if(statement == null || statement.isClosed()){
+            misses++;
+            statement = connection.prepareStatement(sql, autoGeneratedKeys);
+            statements.put(key, statement);
+        }
+        // Cached statement is used by another caller, so a new one is prepared for this one
+        else if(checkedOut.contains(statement)){
+            misses++;
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+        else hits++;
+
+        checkedOut.add(statement);
+        return statement;
+    }
+
+    /**
+     * Returns a statement checked out with get(). Cached statements are reset
+     * for the next caller, all other statements are closed.
+     *
+     * @param statement statement to return
+     * @throws SQLException if statement could not be reset or closed
+     */
+    public synchronized void release(PreparedStatement statement) throws SQLException {
+        // Statement wasn't cached or was evicted whilst it was used
+        if(!checkedOut.remove(statement) || evicted.remove(statement)){
+            statement.close();
+            return;
+        }
+        statement.clearParameters();
+        statement.clearBatch();
+    }
+
+    /**
+     * Closes all cached statements.
+     */
+    public synchronized void close() {
+        List<PreparedStatement> toClose = new ArrayList<>(statements.values());
+        toClose.addAll(evicted);
+        statements.clear();
+        checkedOut.clear();
+        evicted.clear();
+        for(PreparedStatement statement : toClose){
+            closeQuietly(statement);
+        }
+    }
+
+    /**
+     * Closes a statement, printing the exception if it fails.
+     *
+     * @param statement statement to close
+     */
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Getter for the number of statements found in the cache.
+     * @return number of cache hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Getter for the number of statements which had to be prepared.
+     * @return number of cache misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Getter for the number of statements closed to make room for others.
+     * @return number of evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Getter for the number of statements currently in the cache.
+     * @return size of the cache
+     */
+    public synchronized int size() {
+        return statements.size();
+    }
+}
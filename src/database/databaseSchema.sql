@@ -47,6 +47,7 @@ CREATE TABLE Period(
     associatedYear INTEGER NOT NULL,
     name TEXT NOT NULL,
     minutesLeft INTEGER NOT NULL,
+    hoursSpent INTEGER NOT NULL DEFAULT 0,
     FOREIGN KEY (userId)
         REFERENCES User (id)
 );
@@ -57,8 +58,11 @@ CREATE TABLE Week(
     periodId INTEGER NOT NULL,
     weekNumber INTEGER NOT NULL,
     startDate TEXT NOT NULL,
+    hoursSpent INTEGER NOT NULL DEFAULT 0,
     FOREIGN KEY (userId)
-        REFERENCES User (id)
+        REFERENCES User (id),
+    FOREIGN KEY (periodId)
+        REFERENCES Period (id) ON DELETE CASCADE
 );
 
 CREATE TABLE Day(
@@ -68,7 +72,9 @@ CREATE TABLE Day(
     date TEXT NOT NULL,
     hoursSpent INTEGER NOT NULL,
     FOREIGN KEY (userId)
-        REFERENCES User (id)
+        REFERENCES User (id),
+    FOREIGN KEY (weekId)
+        REFERENCES Week (id) ON DELETE CASCADE
 );
 
 CREATE TABLE Event(
@@ -81,7 +87,9 @@ CREATE TABLE Event(
     startTime TEXT NOT NULL,
     endTime TEXT NOT NULL,
     FOREIGN KEY (userId)
-        REFERENCES User (id)
+        REFERENCES User (id),
+    FOREIGN KEY (dayId)
+        REFERENCES Day (id) ON DELETE CASCADE
 );
 
 CREATE TABLE Task(
@@ -92,7 +100,55 @@ CREATE TABLE Task(
     description TEXT NOT NULL,
     status TEXT NOT NULL,
     FOREIGN KEY (userId)
-        REFERENCES User (id)
+        REFERENCES User (id),
+    FOREIGN KEY (weekId)
+        REFERENCES Week (id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_user_username ON User (username);
+CREATE INDEX idx_year_user_number ON Year (userId, yearNumber);
+CREATE INDEX idx_module_user_year ON Module (userId, studyYear);
+CREATE INDEX idx_module_user_code ON Module (userId, code);
+CREATE INDEX idx_assignment_user_module ON Assignment (userId, moduleCode);
+CREATE INDEX idx_period_user ON Period (userId);
+CREATE INDEX idx_week_user_period ON Week (userId, periodId);
+CREATE INDEX idx_day_user_week ON Day (userId, weekId);
+CREATE INDEX idx_event_user_day ON Event (userId, dayId);
+CREATE INDEX idx_task_user_week ON Task (userId, weekId);
+CREATE INDEX idx_week_period ON Week (periodId);
+CREATE INDEX idx_day_week ON Day (weekId);
+CREATE INDEX idx_event_day ON Event (dayId);
+CREATE INDEX idx_task_week ON Task (weekId);
+
+CREATE TRIGGER day_hours_insert AFTER INSERT ON Day
+BEGIN
+    UPDATE Week SET hoursSpent = hoursSpent + NEW.hoursSpent WHERE id = NEW.weekId;
+    UPDATE Period SET hoursSpent = hoursSpent + NEW.hoursSpent
+        WHERE id = (SELECT periodId FROM Week WHERE id = NEW.weekId);
+END;
+
+CREATE TRIGGER day_hours_update AFTER UPDATE OF hoursSpent ON Day
+WHEN NEW.hoursSpent <> OLD.hoursSpent
+BEGIN
+    UPDATE Week SET hoursSpent = hoursSpent + NEW.hoursSpent - OLD.hoursSpent WHERE id = NEW.weekId;
+    UPDATE Period SET hoursSpent = hoursSpent + NEW.hoursSpent - OLD.hoursSpent
+        WHERE id = (SELECT periodId FROM Week WHERE id = NEW.weekId);
+END;
+
+-- When a Week is deleted its Days are deleted after it, so only the Week trigger
+-- subtracts their hours from the Period
+CREATE TRIGGER day_hours_delete AFTER DELETE ON Day
+BEGIN
+    UPDATE Week SET hoursSpent = hoursSpent - OLD.hoursSpent WHERE id = OLD.weekId;
+    UPDATE Period SET hoursSpent = hoursSpent - OLD.hoursSpent
+        WHERE id = (SELECT periodId FROM Week WHERE id = OLD.weekId);
+END;
+
+CREATE TRIGGER week_hours_delete AFTER DELETE ON Week
+BEGIN
+    UPDATE Period SET hoursSpent = hoursSpent - OLD.hoursSpent WHERE id = OLD.periodId;
+END;
+
+PRAGMA user_version = 3;
+
 PRAGMA foreign_keys=on;
\ No newline at end of file
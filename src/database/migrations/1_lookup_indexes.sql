@@ -0,0 +1,11 @@
+-- Indexes on the columns the core queries filter by, all combined with userId
+CREATE INDEX IF NOT EXISTS idx_user_username ON User (username);
+CREATE INDEX IF NOT EXISTS idx_year_user_number ON Year (userId, yearNumber);
+CREATE INDEX IF NOT EXISTS idx_module_user_year ON Module (userId, studyYear);
+CREATE INDEX IF NOT EXISTS idx_module_user_code ON Module (userId, code);
+CREATE INDEX IF NOT EXISTS idx_assignment_user_module ON Assignment (userId, moduleCode);
+CREATE INDEX IF NOT EXISTS idx_period_user ON Period (userId);
+CREATE INDEX IF NOT EXISTS idx_week_user_period ON Week (userId, periodId);
+CREATE INDEX IF NOT EXISTS idx_day_user_week ON Day (userId, weekId);
+CREATE INDEX IF NOT EXISTS idx_event_user_day ON Event (userId, dayId);
+CREATE INDEX IF NOT EXISTS idx_task_user_week ON Task (userId, weekId);
@@ -0,0 +1,90 @@
+-- Rebuilds Week, Day, Event and Task with foreign keys to their parents, so deleting
+-- a Period deletes its Weeks, their Days, Events and Tasks as well.
+-- Rows whose parent was already deleted are not copied.
+
+CREATE TABLE Week_new(
+    id INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT,
+    userId INTEGER NOT NULL,
+    periodId INTEGER NOT NULL,
+    weekNumber INTEGER NOT NULL,
+    startDate TEXT NOT NULL,
+    FOREIGN KEY (userId)
+        REFERENCES User (id),
+    FOREIGN KEY (periodId)
+        REFERENCES Period (id) ON DELETE CASCADE
+);
+INSERT INTO Week_new SELECT * FROM Week WHERE periodId IN (SELECT id FROM Period);
+
+CREATE TABLE Day_new(
+    id INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT,
+    userId INTEGER NOT NULL,
+    weekId INTEGER NOT NULL,
+    date TEXT NOT NULL,
+    hoursSpent INTEGER NOT NULL,
+    FOREIGN KEY (userId)
+        REFERENCES User (id),
+    FOREIGN KEY (weekId)
+        REFERENCES Week (id) ON DELETE CASCADE
+);
+INSERT INTO Day_new SELECT * FROM Day WHERE weekId IN (SELECT id FROM Week_new);
+
+CREATE TABLE Event_new(
+    id INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT,
+    userId INTEGER NOT NULL,
+    dayId INTEGER NOT NULL,
+    moduleId INTEGER NOT NULL,
+    name TEXT NOT NULL,
+    description TEXT NOT NULL,
+    startTime TEXT NOT NULL,
+    endTime TEXT NOT NULL,
+    FOREIGN KEY (userId)
+        REFERENCES User (id),
+    FOREIGN KEY (dayId)
+        REFERENCES Day (id) ON DELETE CASCADE
+);
+INSERT INTO Event_new SELECT * FROM Event WHERE dayId IN (SELECT id FROM Day_new);
+
+CREATE TABLE Task_new(
+    id INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT,
+    userId INTEGER NOT NULL,
+    moduleId INTEGER NOT NULL,
+    weekId INTEGER NOT NULL,
+    description TEXT NOT NULL,
+    status TEXT NOT NULL,
+    FOREIGN KEY (userId)
+        REFERENCES User (id),
+    FOREIGN KEY (weekId)
+        REFERENCES Week (id) ON DELETE CASCADE
+);
+INSERT INTO Task_new SELECT * FROM Task WHERE weekId IN (SELECT id FROM Week_new);
+
+-- Keeps the AUTOINCREMENT counters, so ids of deleted rows are not reused
+DELETE FROM sqlite_sequence WHERE name = 'Week_new';
+INSERT INTO sqlite_sequence (name, seq) SELECT 'Week_new', seq FROM sqlite_sequence WHERE name = 'Week';
+DELETE FROM sqlite_sequence WHERE name = 'Day_new';
+INSERT INTO sqlite_sequence (name, seq) SELECT 'Day_new', seq FROM sqlite_sequence WHERE name = 'Day';
+DELETE FROM sqlite_sequence WHERE name = 'Event_new';
+INSERT INTO sqlite_sequence (name, seq) SELECT 'Event_new', seq FROM sqlite_sequence WHERE name = 'Event';
+DELETE FROM sqlite_sequence WHERE name = 'Task_new';
+INSERT INTO sqlite_sequence (name, seq) SELECT 'Task_new', seq FROM sqlite_sequence WHERE name = 'Task';
+
+DROP TABLE Event;
+DROP TABLE Task;
+DROP TABLE Day;
+DROP TABLE Week;
+ALTER TABLE Week_new RENAME TO Week;
+ALTER TABLE Day_new RENAME TO Day;
+ALTER TABLE Event_new RENAME TO Event;
+ALTER TABLE Task_new RENAME TO Task;
+
+-- Lookup indexes dropped together with the old tables
+CREATE INDEX idx_week_user_period ON Week (userId, periodId);
+CREATE INDEX idx_day_user_week ON Day (userId, weekId);
+CREATE INDEX idx_event_user_day ON Event (userId, dayId);
+CREATE INDEX idx_task_user_week ON Task (userId, weekId);
+
+-- Indexes on the parent columns, so cascading deletes don't scan the child tables
+CREATE INDEX idx_week_period ON Week (periodId);
+CREATE INDEX idx_day_week ON Day (weekId);
+CREATE INDEX idx_event_day ON Event (dayId);
+CREATE INDEX idx_task_week ON Task (weekId);
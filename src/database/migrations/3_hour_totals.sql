@@ -0,0 +1,38 @@
+-- Keeps the total hours spent of every Week and Period next to the Day rows,
+-- so reading the hours of a week or period doesn't sum its days.
+-- The totals are kept up to date by triggers whenever Day rows change.
+
+ALTER TABLE Week ADD COLUMN hoursSpent INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE Period ADD COLUMN hoursSpent INTEGER NOT NULL DEFAULT 0;
+
+UPDATE Week SET hoursSpent = (SELECT COALESCE(SUM(hoursSpent), 0) FROM Day WHERE Day.weekId = Week.id);
+UPDATE Period SET hoursSpent = (SELECT COALESCE(SUM(hoursSpent), 0) FROM Week WHERE Week.periodId = Period.id);
+
+CREATE TRIGGER day_hours_insert AFTER INSERT ON Day
+BEGIN
+    UPDATE Week SET hoursSpent = hoursSpent + NEW.hoursSpent WHERE id = NEW.weekId;
+    UPDATE Period SET hoursSpent = hoursSpent + NEW.hoursSpent
+        WHERE id = (SELECT periodId FROM Week WHERE id = NEW.weekId);
+END;
+
+CREATE TRIGGER day_hours_update AFTER UPDATE OF hoursSpent ON Day
+WHEN NEW.hoursSpent <> OLD.hoursSpent
+BEGIN
+    UPDATE Week SET hoursSpent = hoursSpent + NEW.hoursSpent - OLD.hoursSpent WHERE id = NEW.weekId;
+    UPDATE Period SET hoursSpent = hoursSpent + NEW.hoursSpent - OLD.hoursSpent
+        WHERE id = (SELECT periodId FROM Week WHERE id = NEW.weekId);
+END;
+
+-- When a Week is deleted its Days are deleted after it, so only the Week trigger
+-- subtracts their hours from the Period
+CREATE TRIGGER day_hours_delete AFTER DELETE ON Day
+BEGIN
+    UPDATE Week SET hoursSpent = hoursSpent - OLD.hoursSpent WHERE id = OLD.weekId;
+    UPDATE Period SET hoursSpent = hoursSpent - OLD.hoursSpent
+        WHERE id = (SELECT periodId FROM Week WHERE id = OLD.weekId);
+END;
+
+CREATE TRIGGER week_hours_delete AFTER DELETE ON Week
+BEGIN
+    UPDATE Period SET hoursSpent = hoursSpent - OLD.hoursSpent WHERE id = OLD.periodId;
+END;
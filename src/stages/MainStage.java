@@ -1,11 +1,10 @@
 package stages;
 
+import controllers.utilities.ImageCache;
 import core.Session;
 import core.User;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
@@ -22,6 +21,9 @@ import java.io.IOException;
  * Class representing the main stage/window of the application.
  */
 public class MainStage {
+    // Name of the fxml of the first scene
+    private final String viewName;
+
     public MainStage(Stage primaryStage) throws IOException {
         // Loads the required scene
         Parent root;
@@ -30,11 +32,12 @@ public class MainStage {
         // If logged in user exists, loads their data into session and forwards to profile view
         if(loggedInUser!=null) {
             Session.beginSession(loggedInUser);
-            root = FXMLLoader.load(getClass().getResource("/ProfileView.fxml"));
+            viewName = "ProfileView.fxml";
         }
         // Otherwise, forwards to login page
         else
-            root = FXMLLoader.load(getClass().getResource("/LoginPageView.fxml"));
+            viewName = "LoginPageView.fxml";
+        root = ImageCache.loader(getClass().getResource("/"+viewName)).load();
 
         // Sets window (stage) to default size
         primaryStage.setScene(new Scene(root, 1400, 900));
@@ -47,8 +50,7 @@ public class MainStage {
         primaryStage.initStyle(StageStyle.UNDECORATED);
 
         // Adds the application logo
-        Image newImage = new Image(MainStage.class.getResourceAsStream("/icon.png"));
-        primaryStage.getIcons().add(newImage);
+        primaryStage.getIcons().add(ImageCache.get("icon.png"));
 
         // Focuses away from the fields for prompt text to be visible
         root.requestFocus();
@@ -59,4 +61,12 @@ public class MainStage {
         // Shows the window
         primaryStage.show();
     }
+
+    /**
+     * Getter for the name of the fxml of the first scene.
+     * @return name of the fxml
+     */
+    public String getViewName() {
+        return viewName;
+    }
 }
@@ -1,10 +1,9 @@
 package stages;
 
+import controllers.utilities.ImageCache;
 import core.Session;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -25,7 +24,7 @@ public class PopupStage {
     public PopupStage(Stage popup, String viewName) throws IOException {
         // Loads the required scene
         Parent root;
-        root = FXMLLoader.load(getClass().getResource("/"+viewName));
+        root = ImageCache.loader(getClass().getResource("/"+viewName)).load();
 
         // Sets window (stage) to default size
         popup.setScene(new Scene(root, 700, 600));
@@ -41,8 +40,7 @@ public class PopupStage {
         popup.initStyle(StageStyle.UNDECORATED);
 
         // Adds the application logo
-        Image newImage = new Image(PopupStage.class.getResourceAsStream("/icon.png"));
-        popup.getIcons().add(newImage);
+        popup.getIcons().add(ImageCache.get("icon.png"));
 
         // Focuses away from the fields for prompt text to be visible
         root.requestFocus();